@@ -0,0 +1,21 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do benchmarks.jar. Aceita as mesmas opcoes de linha de
+ * comando do JMH e liga sempre o GCProfiler, para que cada resultado venha
+ * acompanhado da taxa de alocacao (gc.alloc.rate.norm = bytes por operacao).
+ * 
+ * Exemplo: java -jar target/benchmarks.jar HeapBenchmark -p size=1000000
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		new Runner(new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class).build()).run();
+	}
+}
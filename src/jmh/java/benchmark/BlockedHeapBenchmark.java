@@ -0,0 +1,69 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.heap.BlockedHeapImpl;
+import adt.heap.Heap;
+import adt.heap.HeapImpl;
+
+/**
+ * Compara o layout em blocos com o layout por niveis da HeapImpl em heaps
+ * grandes o bastante para nao caber no cache. blockHeight = 0 mede a
+ * HeapImpl. Os tamanhos maiores sao os que interessam: abaixo de alguns MB a
+ * heap inteira cabe no cache e o calculo de enderecos so adiciona custo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class BlockedHeapBenchmark {
+
+	@Param({ "100000", "1000000", "10000000" })
+	public int size;
+
+	@Param({ "RANDOM" })
+	public Distribution distribution;
+
+	@Param({ "0", "3", "4", "6" })
+	public int blockHeight;
+
+	private Integer[] source;
+
+	@Setup(Level.Trial)
+	public void generate() {
+		this.source = this.distribution.generate(this.size);
+	}
+
+	@Benchmark
+	public Integer insertAndDrain() {
+		Heap<Integer> heap;
+		if (this.blockHeight == 0) {
+			heap = new HeapImpl<Integer>(HeapOrder.MIN.comparator(), this.size);
+		} else {
+			heap = new BlockedHeapImpl<Integer>(HeapOrder.MIN.comparator(), this.blockHeight);
+		}
+		for (Integer element : this.source) {
+			heap.insert(element);
+		}
+		Integer last = null;
+		while (!heap.isEmpty()) {
+			last = heap.extractRootElement();
+		}
+		return last;
+	}
+}
@@ -0,0 +1,75 @@
+package benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.heap.HeapImpl;
+import adt.heap.concurrent.MultiQueueHeap;
+
+/**
+ * Mede a contencao com varias threads fazendo pares insert/extract sobre a
+ * mesma heap: uma HeapImpl atras de um lock global (synchronized) contra a
+ * MultiQueueHeap. O numero de threads padrao eh 4; use -t para variar.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentHeapBenchmark {
+
+	@Param({ "100000" })
+	public int size;
+
+	@Param({ "synchronized", "multiqueue" })
+	public String implementation;
+
+	private HeapImpl<Integer> locked;
+	private MultiQueueHeap<Integer> multiQueue;
+
+	@Setup(Level.Trial)
+	public void fill() {
+		Integer[] source = Distribution.RANDOM.generate(this.size);
+		if ("synchronized".equals(this.implementation)) {
+			this.locked = new HeapImpl<Integer>(HeapOrder.MIN.comparator());
+			this.locked.buildHeap(source);
+		} else {
+			this.multiQueue = new MultiQueueHeap<Integer>(HeapOrder.MIN.comparator());
+			this.multiQueue.buildHeap(source);
+		}
+	}
+
+	@Benchmark
+	public Integer insertAndExtract() {
+		Integer element = ThreadLocalRandom.current().nextInt();
+		Integer resp;
+		if (this.locked != null) {
+			synchronized (this.locked) {
+				this.locked.insert(element);
+			}
+			synchronized (this.locked) {
+				resp = this.locked.extractRootElement();
+			}
+		} else {
+			this.multiQueue.insert(element);
+			resp = this.multiQueue.extractRootElement();
+		}
+		return resp;
+	}
+}
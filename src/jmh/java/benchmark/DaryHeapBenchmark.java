@@ -0,0 +1,105 @@
+package benchmark;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.heap.CountingComparator;
+import adt.heap.DaryHeapImpl;
+import adt.heap.Heap;
+import adt.heap.HeapImpl;
+
+/**
+ * Compara a DaryHeapImpl com a HeapImpl binaria em uma carga de n inserts
+ * seguidos de n extracoes. arity = 0 mede a HeapImpl. countComparisons roda
+ * a mesma carga com um CountingComparator e reporta os contadores auxiliares
+ * comparisons e elements (comparacoes por elemento = comparisons / elements),
+ * para separar o custo de comparacao do efeito de cache sem contaminar o
+ * throughput de insertAndDrain.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class DaryHeapBenchmark {
+
+	@Param({ "100000", "1000000", "10000000" })
+	public int size;
+
+	@Param({ "RANDOM", "SORTED" })
+	public Distribution distribution;
+
+	@Param({ "0", "2", "4", "8", "16" })
+	public int arity;
+
+	private Integer[] source;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Comparisons {
+
+		public long comparisons;
+		public long elements;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.comparisons = 0;
+			this.elements = 0;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void generate() {
+		this.source = this.distribution.generate(this.size);
+	}
+
+	@Benchmark
+	public Integer insertAndDrain() {
+		return this.insertAndDrain(this.newHeap(HeapOrder.MIN.comparator()));
+	}
+
+	@Benchmark
+	public Integer countComparisons(Comparisons counters) {
+		CountingComparator<Integer> comparator = new CountingComparator<Integer>(HeapOrder.MIN.comparator());
+		Integer resp = this.insertAndDrain(this.newHeap(comparator));
+		counters.comparisons += comparator.getCount();
+		counters.elements += this.size;
+		return resp;
+	}
+
+	private Heap<Integer> newHeap(Comparator<Integer> comparator) {
+		Heap<Integer> heap;
+		if (this.arity == 0) {
+			heap = new HeapImpl<Integer>(comparator, this.size);
+		} else {
+			heap = new DaryHeapImpl<Integer>(comparator, this.arity, this.size);
+		}
+		return heap;
+	}
+
+	private Integer insertAndDrain(Heap<Integer> heap) {
+		for (Integer element : this.source) {
+			heap.insert(element);
+		}
+		Integer last = null;
+		while (!heap.isEmpty()) {
+			last = heap.extractRootElement();
+		}
+		return last;
+	}
+}
@@ -0,0 +1,58 @@
+package benchmark;
+
+import java.util.Random;
+
+/**
+ * Distribuicoes de entrada usadas pelos benchmarks. Os arrays sao gerados com
+ * semente fixa, entao todas as execucoes medem exatamente os mesmos dados.
+ */
+public enum Distribution {
+
+	RANDOM {
+		@Override
+		int value(Random random, int i, int size) {
+			return random.nextInt();
+		}
+	},
+	SORTED {
+		@Override
+		int value(Random random, int i, int size) {
+			return i;
+		}
+	},
+	REVERSED {
+		@Override
+		int value(Random random, int i, int size) {
+			return size - i;
+		}
+	},
+	DUPLICATES {
+		@Override
+		int value(Random random, int i, int size) {
+			return random.nextInt(DISTINCT_VALUES);
+		}
+	};
+
+	private static final int DISTINCT_VALUES = 16;
+	private static final long SEED = 121210114L;
+
+	abstract int value(Random random, int i, int size);
+
+	public int[] generateInts(int size) {
+		Random random = new Random(SEED);
+		int[] array = new int[size];
+		for (int i = 0; i < size; i++) {
+			array[i] = this.value(random, i, size);
+		}
+		return array;
+	}
+
+	public Integer[] generate(int size) {
+		int[] values = this.generateInts(size);
+		Integer[] array = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			array[i] = values[i];
+		}
+		return array;
+	}
+}
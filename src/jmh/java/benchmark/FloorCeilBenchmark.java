@@ -0,0 +1,98 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.heap.extended.FloorCeilHeapImpl;
+import adt.heap.extended.FloorCeilIndex;
+import adt.heap.extended.FloorCeilScanImpl;
+
+/**
+ * Mede floor e ceil da FloorCeilHeapImpl, com uma heap nova a cada chamada
+ * (o custo de construir a heap faz parte da consulta). O numero consultado
+ * eh o elemento do meio do array mais 0.5, para que a resposta nao esteja
+ * no array.
+ * 
+ * Os casos index* consultam um FloorCeilIndex construido uma unica vez;
+ * indexBatchFloor responde QUERIES consultas espalhadas pelos dados de uma vez.
+ * scanFloorAndCeil faz uma unica varredura com a FloorCeilScanImpl.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class FloorCeilBenchmark {
+
+	@Param({ "1000", "10000", "100000", "1000000", "10000000" })
+	public int size;
+
+	@Param({ "RANDOM", "SORTED", "REVERSED", "DUPLICATES" })
+	public Distribution distribution;
+
+	@Param({ "MAX", "MIN" })
+	public HeapOrder order;
+
+	private static final int QUERIES = 1000;
+
+	private Integer[] array;
+	private double numero;
+	private FloorCeilIndex index;
+	private FloorCeilScanImpl scan;
+	private double[] numeros;
+
+	@Setup(Level.Trial)
+	public void generate() {
+		this.array = this.distribution.generate(this.size);
+		this.numero = this.array[this.size / 2] + 0.5;
+		this.index = new FloorCeilIndex(this.array);
+		this.scan = new FloorCeilScanImpl(this.order.comparator());
+		this.numeros = new double[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			this.numeros[i] = this.array[(int) ((long) i * this.size / QUERIES)] + 0.5;
+		}
+	}
+
+	@Benchmark
+	public Integer floor() {
+		return new FloorCeilHeapImpl(this.order.comparator()).floor(this.array, this.numero);
+	}
+
+	@Benchmark
+	public Integer ceil() {
+		return new FloorCeilHeapImpl(this.order.comparator()).ceil(this.array, this.numero);
+	}
+
+	@Benchmark
+	public Integer indexFloor() {
+		return this.index.floor(this.numero);
+	}
+
+	@Benchmark
+	public Integer indexCeil() {
+		return this.index.ceil(this.numero);
+	}
+
+	@Benchmark
+	public Integer[] indexBatchFloor() {
+		return this.index.floor(this.numeros);
+	}
+
+	@Benchmark
+	public Integer[] scanFloorAndCeil() {
+		return this.scan.floorAndCeil(this.array, this.numero);
+	}
+}
@@ -0,0 +1,133 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.heap.HeapImpl;
+
+/**
+ * Mede as operacoes da HeapImpl sobre n elementos. Cada operacao do
+ * benchmark processa o array inteiro (n inserts, um insertAll, n extracoes, um
+ * buildHeap ou um heapsort), entao o throughput eh em "arrays por segundo". O
+ * parallelHeapsort usa o ForkJoinPool comum.
+ * 
+ * Os estados com Level.Invocation preparam a entrada fora da medicao: a copia
+ * do array para buildHeap/heapsort e a heap cheia para extractRootElement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class HeapBenchmark {
+
+	@State(Scope.Thread)
+	public static class Input {
+
+		@Param({ "1000", "10000", "100000", "1000000", "10000000" })
+		public int size;
+
+		@Param({ "RANDOM", "SORTED", "REVERSED", "DUPLICATES" })
+		public Distribution distribution;
+
+		@Param({ "MAX", "MIN" })
+		public HeapOrder order;
+
+		public Integer[] source;
+
+		@Setup(Level.Trial)
+		public void generate() {
+			this.source = this.distribution.generate(this.size);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ArrayCopy {
+
+		public Integer[] array;
+
+		@Setup(Level.Invocation)
+		public void copy(Input input) {
+			this.array = Arrays.copyOf(input.source, input.source.length);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class FullHeap {
+
+		public HeapImpl<Integer> heap;
+
+		@Setup(Level.Invocation)
+		public void fill(Input input) {
+			this.heap = new HeapImpl<Integer>(input.order.comparator());
+			this.heap.buildHeap(Arrays.copyOf(input.source, input.source.length));
+		}
+	}
+
+	@Benchmark
+	public HeapImpl<Integer> insert(Input input) {
+		HeapImpl<Integer> heap = new HeapImpl<Integer>(input.order.comparator());
+		for (Integer element : input.source) {
+			heap.insert(element);
+		}
+		return heap;
+	}
+
+	@Benchmark
+	public HeapImpl<Integer> insertAll(Input input) {
+		HeapImpl<Integer> heap = new HeapImpl<Integer>(input.order.comparator());
+		heap.insertAll(input.source);
+		return heap;
+	}
+
+	@Benchmark
+	public Integer extractRootElement(FullHeap state) {
+		HeapImpl<Integer> heap = state.heap;
+		Integer last = null;
+		while (!heap.isEmpty()) {
+			last = heap.extractRootElement();
+		}
+		return last;
+	}
+
+	@Benchmark
+	public Integer extractRootElementBottomUp(FullHeap state) {
+		HeapImpl<Integer> heap = state.heap;
+		heap.setBottomUpExtraction(true);
+		Integer last = null;
+		while (!heap.isEmpty()) {
+			last = heap.extractRootElement();
+		}
+		return last;
+	}
+
+	@Benchmark
+	public HeapImpl<Integer> buildHeap(Input input, ArrayCopy copy) {
+		HeapImpl<Integer> heap = new HeapImpl<Integer>(input.order.comparator());
+		heap.buildHeap(copy.array);
+		return heap;
+	}
+
+	@Benchmark
+	public Integer[] heapsort(Input input, ArrayCopy copy) {
+		return new HeapImpl<Integer>(input.order.comparator()).heapsort(copy.array);
+	}
+
+	@Benchmark
+	public Integer[] parallelHeapsort(Input input, ArrayCopy copy) {
+		return new HeapImpl<Integer>(input.order.comparator()).parallelHeapsort(copy.array);
+	}
+}
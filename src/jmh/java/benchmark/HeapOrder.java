@@ -0,0 +1,27 @@
+package benchmark;
+
+import java.util.Comparator;
+
+import adt.heap.ComparatorMaxHeap;
+import adt.heap.ComparatorMinHeap;
+
+/**
+ * Os dois comparators da heap, como parametro de benchmark.
+ */
+public enum HeapOrder {
+
+	MAX {
+		@Override
+		public Comparator<Integer> comparator() {
+			return new ComparatorMaxHeap<Integer>();
+		}
+	},
+	MIN {
+		@Override
+		public Comparator<Integer> comparator() {
+			return new ComparatorMinHeap<Integer>();
+		}
+	};
+
+	public abstract Comparator<Integer> comparator();
+}
@@ -0,0 +1,103 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.heap.HeapImpl;
+import adt.heap.PairingHeapImpl;
+
+/**
+ * Compara a PairingHeapImpl com a HeapImpl em duas cargas: insertHeavy faz n
+ * inserts e n/10 extracoes; meldHeavy divide os n elementos em heaps de
+ * meldSize elementos e junta todas em uma so (meld na pairing heap, merge na
+ * HeapImpl), extraindo a raiz depois de cada juncao.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class MeldableHeapBenchmark {
+
+	@Param({ "100000", "1000000" })
+	public int size;
+
+	@Param({ "RANDOM", "SORTED" })
+	public Distribution distribution;
+
+	@Param({ "16", "1024" })
+	public int meldSize;
+
+	private Integer[] source;
+
+	@Setup(Level.Trial)
+	public void generate() {
+		this.source = this.distribution.generate(this.size);
+	}
+
+	@Benchmark
+	public Integer insertHeavyHeapImpl() {
+		HeapImpl<Integer> heap = new HeapImpl<Integer>(HeapOrder.MIN.comparator());
+		Integer last = null;
+		for (int i = 0; i < this.source.length; i++) {
+			heap.insert(this.source[i]);
+			if (i % 10 == 0) {
+				last = heap.extractRootElement();
+			}
+		}
+		return last;
+	}
+
+	@Benchmark
+	public Integer insertHeavyPairing() {
+		PairingHeapImpl<Integer> heap = new PairingHeapImpl<Integer>(HeapOrder.MIN.comparator());
+		Integer last = null;
+		for (int i = 0; i < this.source.length; i++) {
+			heap.insert(this.source[i]);
+			if (i % 10 == 0) {
+				last = heap.extractRootElement();
+			}
+		}
+		return last;
+	}
+
+	@Benchmark
+	public Integer meldHeavyHeapImpl() {
+		HeapImpl<Integer> heap = new HeapImpl<Integer>(HeapOrder.MIN.comparator());
+		Integer last = null;
+		for (int from = 0; from < this.source.length; from += this.meldSize) {
+			HeapImpl<Integer> part = new HeapImpl<Integer>(HeapOrder.MIN.comparator());
+			part.buildHeap(Arrays.copyOfRange(this.source, from, Math.min(from + this.meldSize, this.source.length)));
+			heap.merge(part);
+			last = heap.extractRootElement();
+		}
+		return last;
+	}
+
+	@Benchmark
+	public Integer meldHeavyPairing() {
+		PairingHeapImpl<Integer> heap = new PairingHeapImpl<Integer>(HeapOrder.MIN.comparator());
+		Integer last = null;
+		for (int from = 0; from < this.source.length; from += this.meldSize) {
+			PairingHeapImpl<Integer> part = new PairingHeapImpl<Integer>(HeapOrder.MIN.comparator());
+			part.buildHeap(Arrays.copyOfRange(this.source, from, Math.min(from + this.meldSize, this.source.length)));
+			heap.meld(part);
+			last = heap.extractRootElement();
+		}
+		return last;
+	}
+}
@@ -0,0 +1,99 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import orderStatistic.OrderStatistics;
+import orderStatistic.OrderStatisticsHeapImpl;
+import orderStatistic.OrderStatisticsQuickSelectImpl;
+
+/**
+ * Mede getOrderStatistics para k = 1 (minimo), k = n/2 (mediana) e k = n
+ * (maximo). Nenhuma das implementacoes altera o array (a selecao trabalha em
+ * um scratch reaproveitado), entao a mesma entrada eh usada em todas as
+ * chamadas.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class OrderStatisticsBenchmark {
+
+	@Param({ "1000", "10000", "100000", "1000000", "10000000" })
+	public int size;
+
+	@Param({ "RANDOM", "SORTED", "REVERSED", "DUPLICATES" })
+	public Distribution distribution;
+
+	@Param({ "MIN", "MEDIAN", "MAX" })
+	public String rank;
+
+	private Integer[] array;
+	private int k;
+	private OrderStatistics<Integer> orderStatistics;
+	private OrderStatisticsQuickSelectImpl<Integer> quickSelect;
+	private Integer[] scratch;
+	private int[] percentiles;
+
+	@Setup(Level.Trial)
+	public void generate() {
+		this.array = this.distribution.generate(this.size);
+		this.orderStatistics = new OrderStatisticsHeapImpl<Integer>();
+		this.quickSelect = new OrderStatisticsQuickSelectImpl<Integer>();
+		this.scratch = new Integer[this.size];
+		this.percentiles = new int[] { this.size / 2, this.size * 9 / 10, this.size * 95 / 100,
+				this.size * 99 / 100, (int) (this.size * 999L / 1000) };
+		if ("MIN".equals(this.rank)) {
+			this.k = 1;
+		} else if ("MEDIAN".equals(this.rank)) {
+			this.k = (this.size + 1) / 2;
+		} else {
+			this.k = this.size;
+		}
+	}
+
+	@Benchmark
+	public Integer getOrderStatistics() {
+		return this.orderStatistics.getOrderStatistics(this.array, this.k);
+	}
+
+	@Benchmark
+	public Integer quickSelect() {
+		return this.quickSelect.getOrderStatistics(this.array, this.k, this.scratch);
+	}
+
+	/**
+	 * p50, p90, p95, p99 e p99.9 (independe do parametro rank) com uma
+	 * selecao por percentil.
+	 */
+	@Benchmark
+	public Integer percentilesQuickSelect() {
+		Integer last = null;
+		for (int k : this.percentiles) {
+			last = this.quickSelect.getOrderStatistics(this.array, k, this.scratch);
+		}
+		return last;
+	}
+
+	/**
+	 * Os mesmos percentis com uma unica passada de multi-selecao.
+	 */
+	@Benchmark
+	public Integer[] percentilesMultiSelect() {
+		return this.quickSelect.getOrderStatistics(this.array, this.percentiles, this.scratch);
+	}
+}
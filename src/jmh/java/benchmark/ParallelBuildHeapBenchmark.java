@@ -0,0 +1,71 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.heap.HeapImpl;
+
+/**
+ * Curva de speedup do parallelBuildHeap em funcao do numero de threads do
+ * ForkJoinPool. Com parallelism = 1 o metodo usa o buildHeap sequencial, que
+ * serve de base para a comparacao.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class ParallelBuildHeapBenchmark {
+
+	@Param({ "1000000", "10000000" })
+	public int size;
+
+	@Param({ "RANDOM", "SORTED" })
+	public Distribution distribution;
+
+	@Param({ "1", "2", "4", "8", "16", "32" })
+	public int parallelism;
+
+	private Integer[] source;
+	private Integer[] array;
+	private ForkJoinPool pool;
+
+	@Setup(Level.Trial)
+	public void generate() {
+		this.source = this.distribution.generate(this.size);
+		this.pool = new ForkJoinPool(this.parallelism);
+	}
+
+	@Setup(Level.Invocation)
+	public void copy() {
+		this.array = Arrays.copyOf(this.source, this.source.length);
+	}
+
+	@TearDown(Level.Trial)
+	public void shutdown() {
+		this.pool.shutdown();
+	}
+
+	@Benchmark
+	public HeapImpl<Integer> parallelBuildHeap() {
+		HeapImpl<Integer> heap = new HeapImpl<Integer>(HeapOrder.MAX.comparator());
+		heap.parallelBuildHeap(this.array, this.pool);
+		return heap;
+	}
+}
@@ -0,0 +1,303 @@
+package adt.heap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Heap binaria com layout em blocos (no estilo da B-heap). A arvore eh
+ * dividida em sub-arvores completas de altura h, e cada sub-arvore fica em um
+ * bloco proprio de 2^h posicoes. Assim, descer h niveis na heap toca um unico
+ * bloco, enquanto na HeapImpl cada nivel abaixo dos primeiros cai em uma
+ * linha de cache (e, em heaps muito grandes, em uma pagina) diferente.
+ *
+ * Cada bloco eh um Comparable[] separado, com cabecalho proprio (16 bytes com
+ * compressed oops) e 2^h referencias de 4 bytes (a posicao 0 nao eh usada).
+ * O padrao eh h = 3: um bloco cheio ocupa 48 bytes e cabe em uma linha de
+ * cache de 64 bytes se nao cruzar a fronteira (os objetos so sao alinhados a
+ * 8 bytes). Com h = 4 sao 80 bytes, sempre duas linhas. Passar para um bloco
+ * filho tambem le blocks[b] antes do bloco. O ganho de cache e de TLB sobre a
+ * HeapImpl nao foi medido; BlockedHeapBenchmark compara as alturas 3, 4 e 6.
+ *
+ * Dentro do bloco as posicoes sao numeradas a partir de 1 como uma heap
+ * binaria (filhos de o em 2o e 2o+1). Os 2^(h-1) nos da ultima linha de um
+ * bloco tem seus filhos nas raizes de 2^h blocos filhos, numerados como uma
+ * arvore 2^h-aria: os filhos do bloco b sao b*2^h+1 ate b*2^h+2^h.
+ *
+ * A ordem logica (qual posicao eh a "ultima" da heap) continua sendo a da
+ * heap binaria; so o endereco fisico de cada no muda. Os blocos sao alocados
+ * sob demanda e crescem linha a linha, entao um nivel de blocos quase vazio
+ * nao desperdica 2^h posicoes por no. A ordem segue a convencao da HeapImpl:
+ * o elemento que o comparator considera maior fica no topo.
+ */
+public class BlockedHeapImpl<T extends Comparable<T>> implements Heap<T> {
+
+	private static final int DEFAULT_BLOCK_HEIGHT = 3;
+	private static final int MAX_BLOCK_HEIGHT = 16;
+	private static final int INITIAL_BLOCKS = 16;
+
+	protected T[][] blocks;
+	protected int size;
+	protected Comparator<T> comparator;
+	protected GrowthPolicy growthPolicy;
+
+	private final int blockHeight;
+	/**
+	 * Numero de blocos filhos de cada bloco (2^h).
+	 */
+	private final int fanOut;
+	/**
+	 * Primeiro offset da ultima linha de um bloco (2^(h-1)).
+	 */
+	private final int lastRow;
+
+	public BlockedHeapImpl(Comparator<T> comparator) {
+		this(comparator, DEFAULT_BLOCK_HEIGHT);
+	}
+
+	@SuppressWarnings("unchecked")
+	public BlockedHeapImpl(Comparator<T> comparator, int blockHeight) {
+		if (blockHeight < 1 || blockHeight > MAX_BLOCK_HEIGHT) {
+			throw new IllegalArgumentException();
+		}
+		this.comparator = comparator;
+		this.blockHeight = blockHeight;
+		this.fanOut = 1 << blockHeight;
+		this.lastRow = 1 << (blockHeight - 1);
+		this.blocks = (T[][]) new Comparable[INITIAL_BLOCKS][];
+		this.growthPolicy = new GeometricGrowthPolicy();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public void insert(T element) {
+		if (element != null) {
+			long address = this.address(this.size);
+			int block = block(address);
+			int offset = offset(address);
+			this.ensureSlot(block, offset);
+			this.size++;
+			this.siftUp(this.size - 1, block, offset, element);
+		}
+	}
+
+	@Override
+	public T extractRootElement() {
+		T root = null;
+		if (!this.isEmpty()) {
+			root = this.blocks[0][1];
+			long address = this.address(this.size - 1);
+			T last = this.blocks[block(address)][offset(address)];
+			this.blocks[block(address)][offset(address)] = null;
+			this.size--;
+			if (this.size > 0) {
+				this.siftDown(0, 0, 1, last);
+			}
+		}
+		return root;
+	}
+
+	@Override
+	public T rootElement() {
+		T root = null;
+		if (!this.isEmpty()) {
+			root = this.blocks[0][1];
+		}
+		return root;
+	}
+
+	/**
+	 * Constroi a heap com os elementos do array, que sao copiados para os
+	 * blocos (o layout em blocos nao permite usar o array diretamente).
+	 * Elementos null sao ignorados.
+	 */
+	@Override
+	public void buildHeap(T[] array) {
+		this.clear();
+		for (T element : array) {
+			if (element != null) {
+				long address = this.address(this.size);
+				this.ensureSlot(block(address), offset(address));
+				this.blocks[block(address)][offset(address)] = element;
+				this.size++;
+			}
+		}
+		for (int i = (this.size >>> 1) - 1; i >= 0; i--) {
+			long address = this.address(i);
+			this.siftDown(i, block(address), offset(address), this.blocks[block(address)][offset(address)]);
+		}
+	}
+
+	/**
+	 * Ordena em ordem crescente. Os elementos passam pelos blocos, entao a
+	 * ordenacao usa O(n) de memoria extra; o resultado eh escrito de volta no
+	 * proprio array, do fim para o inicio. Ao final a heap fica vazia.
+	 */
+	@Override
+	public T[] heapsort(T[] array) {
+		Comparator<T> original = this.comparator;
+		this.comparator = HeapImpl.ascendingComparator(original);
+		try {
+			this.buildHeap(array);
+			int position = array.length;
+			while (!this.isEmpty()) {
+				array[--position] = this.extractRootElement();
+			}
+		} finally {
+			this.comparator = original;
+		}
+		return array;
+	}
+
+	/**
+	 * Retorna os elementos na ordem logica da heap binaria (nivel por nivel),
+	 * e nao na ordem fisica dos blocos.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T[] toArray() {
+		T[] resp = (T[]) new Comparable[this.size];
+		for (int i = 0; i < this.size; i++) {
+			long address = this.address(i);
+			resp[i] = this.blocks[block(address)][offset(address)];
+		}
+		return resp;
+	}
+
+	@SuppressWarnings("unchecked")
+	public void clear() {
+		this.blocks = (T[][]) new Comparable[INITIAL_BLOCKS][];
+		this.size = 0;
+	}
+
+	public int getBlockHeight() {
+		return blockHeight;
+	}
+
+	public Comparator<T> getComparator() {
+		return comparator;
+	}
+
+	/**
+	 * Endereco fisico do no de indice logico i (numeracao por niveis, como na
+	 * HeapImpl), empacotado como bloco << 32 | offset.
+	 */
+	private long address(int i) {
+		int node = i + 1;
+		int depth = 31 - Integer.numberOfLeadingZeros(node);
+		int blockLevel = depth / this.blockHeight;
+		int depthInBlock = depth - blockLevel * this.blockHeight;
+		int positionInLevel = node - (1 << depth);
+		long blocksBefore = ((1L << (this.blockHeight * blockLevel)) - 1) / (this.fanOut - 1);
+		long block = blocksBefore + (positionInLevel >>> depthInBlock);
+		int offset = (1 << depthInBlock) | (positionInLevel & ((1 << depthInBlock) - 1));
+		return block << 32 | offset;
+	}
+
+	private static int block(long address) {
+		return (int) (address >>> 32);
+	}
+
+	private static int offset(long address) {
+		return (int) address;
+	}
+
+	/**
+	 * Garante que o bloco existe e tem a posicao offset. Um bloco cresce para
+	 * a proxima potencia de dois, ou seja, uma linha da sub-arvore por vez.
+	 */
+	private void ensureSlot(int block, int offset) {
+		if (block >= this.blocks.length) {
+			this.blocks = Arrays.copyOf(this.blocks, this.growthPolicy.newCapacity(this.blocks.length, block + 1));
+		}
+		T[] slots = this.blocks[block];
+		if (slots == null) {
+			@SuppressWarnings("unchecked")
+			T[] created = (T[]) new Comparable[Integer.highestOneBit(offset) << 1];
+			this.blocks[block] = created;
+		} else if (offset >= slots.length) {
+			this.blocks[block] = Arrays.copyOf(slots, Integer.highestOneBit(offset) << 1);
+		}
+	}
+
+	/**
+	 * Sobe element a partir do no logico i, que fica no bloco block e offset
+	 * offset. O pai de um no que nao eh raiz de bloco esta no mesmo bloco; o
+	 * pai de uma raiz de bloco esta na ultima linha do bloco pai.
+	 */
+	private void siftUp(int i, int block, int offset, T element) {
+		while (i > 0) {
+			int parentBlock = block;
+			int parentOffset = offset >>> 1;
+			if (offset == 1) {
+				int child = block - 1;
+				parentBlock = child >>> this.blockHeight;
+				parentOffset = this.lastRow + ((child & (this.fanOut - 1)) >>> 1);
+			}
+			T parentElement = this.blocks[parentBlock][parentOffset];
+			if (this.comparator.compare(parentElement, element) >= 0) {
+				break;
+			}
+			this.blocks[block][offset] = parentElement;
+			i = (i - 1) >>> 1;
+			block = parentBlock;
+			offset = parentOffset;
+		}
+		this.blocks[block][offset] = element;
+	}
+
+	/**
+	 * Desce element a partir do no logico i, com no maximo duas comparacoes
+	 * por nivel. Os filhos de um no fora da ultima linha do bloco estao no
+	 * mesmo bloco; os da ultima linha sao raizes de blocos filhos vizinhos.
+	 */
+	private void siftDown(int i, int block, int offset, T element) {
+		int half = this.size >>> 1;
+		while (i < half) {
+			int left = 2 * i + 1;
+			int childBlock;
+			int childOffset;
+			int rightBlock;
+			int rightOffset;
+			if (offset < this.lastRow) {
+				childBlock = block;
+				childOffset = offset << 1;
+				rightBlock = block;
+				rightOffset = childOffset + 1;
+			} else {
+				childBlock = block * this.fanOut + 1 + ((offset - this.lastRow) << 1);
+				childOffset = 1;
+				rightBlock = childBlock + 1;
+				rightOffset = 1;
+			}
+			int child = left;
+			T childElement = this.blocks[childBlock][childOffset];
+			if (left + 1 < this.size) {
+				T rightElement = this.blocks[rightBlock][rightOffset];
+				if (this.comparator.compare(childElement, rightElement) < 0) {
+					child = left + 1;
+					childBlock = rightBlock;
+					childOffset = rightOffset;
+					childElement = rightElement;
+				}
+			}
+			if (this.comparator.compare(element, childElement) >= 0) {
+				break;
+			}
+			this.blocks[block][offset] = childElement;
+			i = child;
+			block = childBlock;
+			offset = childOffset;
+		}
+		this.blocks[block][offset] = element;
+	}
+
+}
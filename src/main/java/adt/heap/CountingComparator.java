@@ -0,0 +1,41 @@
+package adt.heap;
+
+import java.util.Comparator;
+
+/**
+ * Comparator que delega para outro e conta quantas comparacoes foram feitas.
+ * Serve para medir o numero de comparacoes das operacoes de uma heap, por
+ * exemplo: new HeapImpl<T>(new CountingComparator<T>(new
+ * ComparatorMaxHeap<T>())). Nao eh thread-safe.
+ */
+public class CountingComparator<T> implements Comparator<T> {
+
+	private final Comparator<T> comparator;
+	private long count;
+
+	public CountingComparator(Comparator<T> comparator) {
+		if (comparator == null) {
+			throw new IllegalArgumentException();
+		}
+		this.comparator = comparator;
+	}
+
+	@Override
+	public int compare(T o1, T o2) {
+		this.count++;
+		return this.comparator.compare(o1, o2);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void reset() {
+		this.count = 0;
+	}
+
+	public Comparator<T> getComparator() {
+		return comparator;
+	}
+
+}
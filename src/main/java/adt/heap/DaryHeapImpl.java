@@ -0,0 +1,181 @@
+package adt.heap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import util.Util;
+
+/**
+ * Heap d-aria: cada no tem ate d filhos, com a aridade escolhida na
+ * construcao. Os filhos de i ficam em d*i+1 ate d*i+d e o pai em (i-1)/d.
+ * 
+ * Comparada com a heap binaria, a arvore tem log_d(n) niveis em vez de
+ * log_2(n): o insert sobe menos niveis (uma comparacao por nivel) e os filhos
+ * de um no ficam contiguos no array, normalmente na mesma linha de cache. Em
+ * compensacao a descida faz d comparacoes por nivel. Aridades 4 e 8
+ * costumam ser boas para heaps grandes com muitos inserts. A ordem segue a
+ * convencao da HeapImpl: o elemento que o comparator considera maior fica no
+ * topo.
+ */
+public class DaryHeapImpl<T extends Comparable<T>> implements Heap<T> {
+
+	private static final int INITIAL_SIZE = 20;
+
+	protected T[] heap;
+	protected int index = -1;
+	protected Comparator<T> comparator;
+	protected GrowthPolicy growthPolicy;
+	private final int arity;
+
+	public DaryHeapImpl(Comparator<T> comparator, int arity) {
+		this(comparator, arity, INITIAL_SIZE);
+	}
+
+	@SuppressWarnings("unchecked")
+	public DaryHeapImpl(Comparator<T> comparator, int arity, int initialCapacity) {
+		if (arity < 2 || initialCapacity < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.heap = (T[]) (new Comparable[initialCapacity]);
+		this.comparator = comparator;
+		this.arity = arity;
+		this.growthPolicy = new GeometricGrowthPolicy();
+	}
+
+	private int parent(int i) {
+		return (i - 1) / this.arity;
+	}
+
+	private int firstChild(int i) {
+		return this.arity * i + 1;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (index == -1);
+	}
+
+	@Override
+	public int size() {
+		return this.index + 1;
+	}
+
+	@Override
+	public void insert(T element) {
+		if (element != null) {
+			if (this.index == this.heap.length - 1) {
+				this.heap = Arrays.copyOf(this.heap, this.growthPolicy.newCapacity(this.heap.length, this.index + 2));
+			}
+			this.index += 1;
+			int position = this.index;
+			while (position > 0) {
+				int parent = this.parent(position);
+				if (this.comparator.compare(this.heap[parent], element) >= 0) {
+					break;
+				}
+				this.heap[position] = this.heap[parent];
+				position = parent;
+			}
+			this.heap[position] = element;
+		}
+	}
+
+	@Override
+	public T extractRootElement() {
+		T root = null;
+		if (!this.isEmpty()) {
+			root = this.heap[0];
+			this.heap[0] = this.heap[this.index];
+			this.heap[this.index] = null;
+			this.index -= 1;
+			this.heapify(0);
+		}
+		return root;
+	}
+
+	@Override
+	public T rootElement() {
+		T root = null;
+		if (!this.isEmpty()) {
+			root = this.heap[0];
+		}
+		return root;
+	}
+
+	@Override
+	public void buildHeap(T[] array) {
+		this.heap = array;
+		this.index = array.length - 1;
+		for (int i = this.parent(this.index); i >= 0; i--) {
+			this.heapify(i);
+		}
+	}
+
+	/**
+	 * Ordena em ordem crescente como a HeapImpl.heapsort, invertendo o
+	 * comparator quando ele eh um ComparatorMinHeap. Ao final a heap fica
+	 * vazia.
+	 */
+	@Override
+	public T[] heapsort(T[] array) {
+		Comparator<T> original = this.comparator;
+		this.comparator = HeapImpl.ascendingComparator(original);
+		try {
+			this.buildHeap(array);
+			while (this.size() > 0) {
+				Util.swap(this.heap, 0, this.index);
+				this.index--;
+				this.heapify(0);
+			}
+		} finally {
+			this.comparator = original;
+		}
+		return this.heap;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T[] toArray() {
+		T[] resp = (T[]) new Comparable[this.size()];
+		System.arraycopy(this.heap, 0, resp, 0, resp.length);
+		return resp;
+	}
+
+	public int getArity() {
+		return arity;
+	}
+
+	public Comparator<T> getComparator() {
+		return comparator;
+	}
+
+	/**
+	 * Descida iterativa: a cada nivel escolhe o maior dos ate d filhos (d - 1
+	 * comparacoes) e o compara com o elemento que desce.
+	 */
+	private void heapify(int position) {
+		int size = this.index + 1;
+		if (position < 0 || position >= size) {
+			return;
+		}
+		T element = this.heap[position];
+		int child = this.firstChild(position);
+		while (child < size) {
+			int best = child;
+			int end = Math.min(child + this.arity, size);
+			for (int i = child + 1; i < end; i++) {
+				if (this.comparator.compare(this.heap[best], this.heap[i]) < 0) {
+					best = i;
+				}
+			}
+			if (this.comparator.compare(element, this.heap[best]) >= 0) {
+				break;
+			}
+			this.heap[position] = this.heap[best];
+			position = best;
+			child = this.firstChild(position);
+		}
+		this.heap[position] = element;
+	}
+
+}
@@ -0,0 +1,33 @@
+package adt.heap;
+
+/**
+ * Cresce o array somando sempre o mesmo numero de posicoes. Util quando a
+ * memoria eh mais importante que o custo de copia, mas inserir N elementos
+ * custa O(N^2 / incremento) copias.
+ */
+public class FixedGrowthPolicy implements GrowthPolicy {
+
+	private final int increment;
+
+	public FixedGrowthPolicy(int increment) {
+		if (increment <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.increment = increment;
+	}
+
+	@Override
+	public int newCapacity(int currentCapacity, int minCapacity) {
+		if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+			throw new OutOfMemoryError();
+		}
+		long grown = (long) currentCapacity + this.increment;
+		int capacity = grown >= MAX_CAPACITY ? MAX_CAPACITY : (int) grown;
+		return Math.max(capacity, minCapacity);
+	}
+
+	public int getIncrement() {
+		return increment;
+	}
+
+}
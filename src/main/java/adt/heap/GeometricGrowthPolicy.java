@@ -0,0 +1,40 @@
+package adt.heap;
+
+/**
+ * Cresce o array multiplicando a capacidade atual por um fator fixo. Com
+ * crescimento geometrico, inserir N elementos copia O(N) elementos no total.
+ * Eh a politica padrao da HeapImpl.
+ */
+public class GeometricGrowthPolicy implements GrowthPolicy {
+
+	private static final double DEFAULT_FACTOR = 1.5;
+	private static final int MIN_INCREMENT = 10;
+
+	private final double factor;
+
+	public GeometricGrowthPolicy() {
+		this(DEFAULT_FACTOR);
+	}
+
+	public GeometricGrowthPolicy(double factor) {
+		if (!(factor > 1.0)) {
+			throw new IllegalArgumentException();
+		}
+		this.factor = factor;
+	}
+
+	@Override
+	public int newCapacity(int currentCapacity, int minCapacity) {
+		if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+			throw new OutOfMemoryError();
+		}
+		double grown = Math.max(currentCapacity * this.factor, (double) currentCapacity + MIN_INCREMENT);
+		int capacity = grown >= MAX_CAPACITY ? MAX_CAPACITY : (int) grown;
+		return Math.max(capacity, minCapacity);
+	}
+
+	public double getFactor() {
+		return factor;
+	}
+
+}
@@ -0,0 +1,27 @@
+package adt.heap;
+
+/**
+ * Politica de crescimento do array interno de uma heap. Eh consultada sempre
+ * que a heap precisa de mais espaco do que o array atual comporta.
+ */
+public interface GrowthPolicy {
+
+	/**
+	 * Maior tamanho de array que a heap tenta alocar. Algumas VMs reservam
+	 * palavras de cabecalho no array, entao alocar exatamente
+	 * Integer.MAX_VALUE pode falhar.
+	 */
+	public static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Calcula a nova capacidade do array interno.
+	 * 
+	 * @param currentCapacity
+	 *            o tamanho atual do array
+	 * @param minCapacity
+	 *            a capacidade minima necessaria, sempre maior que
+	 *            currentCapacity
+	 * @return a nova capacidade, maior ou igual a minCapacity
+	 */
+	public int newCapacity(int currentCapacity, int minCapacity);
+}
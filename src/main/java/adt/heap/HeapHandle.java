@@ -0,0 +1,30 @@
+package adt.heap;
+
+/**
+ * Referencia para um elemento inserido em uma IndexedHeap. A heap guarda no
+ * handle a posicao atual do elemento no seu array interno e a atualiza a cada
+ * movimento, o que permite encontrar o elemento em O(1).
+ */
+public final class HeapHandle<T> {
+
+	T element;
+	int position = -1;
+	Object owner;
+
+	HeapHandle(T element, Object owner) {
+		this.element = element;
+		this.owner = owner;
+	}
+
+	public T getElement() {
+		return element;
+	}
+
+	/**
+	 * Diz se o elemento ainda esta em alguma heap.
+	 */
+	public boolean isActive() {
+		return owner != null;
+	}
+
+}
@@ -1,8 +1,15 @@
 package adt.heap;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 
 import util.Util;
 
@@ -15,7 +22,7 @@ import util.Util;
  * Dessa forma, dependendo do comparator, a heap pode funcionar como uma max-heap 
  * ou min-heap.
  */
-public class HeapImpl<T extends Comparable<T>> implements Heap<T> {
+public class HeapImpl<T extends Comparable<T>> implements Heap<T>, Iterable<T> {
 
 	protected T[] heap;
 	protected int index = -1;
@@ -26,9 +33,29 @@ public class HeapImpl<T extends Comparable<T>> implements Heap<T> {
 	 * como max-heap ou min-heap.
 	 */
 	protected Comparator<T> comparator;
+	/**
+	 * Define quanto o array interno cresce quando fica cheio.
+	 */
+	protected GrowthPolicy growthPolicy;
+	/**
+	 * Se verdadeiro, extractRootElement e heapsort usam a descida de baixo
+	 * para cima (Floyd) em vez do heapify.
+	 */
+	protected boolean bottomUpExtraction;
+	/**
+	 * Numero de modificacoes no conteudo da heap. Os iteradores e
+	 * spliterators comparam esse valor com o do momento em que foram criados
+	 * para falhar rapido (ConcurrentModificationException).
+	 */
+	protected int modCount;
 
 	private static final int INITIAL_SIZE = 20;
-	private static final int INCREASING_FACTOR = 10;
+	/**
+	 * Abaixo desse tamanho parallelHeapsort e parallelBuildHeap usam o
+	 * caminho sequencial, e nenhum pedaco processado por uma tarefa paralela
+	 * eh menor que isso.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
 
 	/**
 	 * Construtor da classe. Note que de inicio a heap funciona como uma
@@ -36,10 +63,26 @@ public class HeapImpl<T extends Comparable<T>> implements Heap<T> {
 	 * interno e se o comparator responde compare(x,y) < 0 entao o x eh menor
 	 * e sobe na heap.
 	 */
-	@SuppressWarnings("unchecked")
 	public HeapImpl(Comparator<T> comparator) {
-		this.heap = (T[]) (new Comparable[INITIAL_SIZE]);
+		this(comparator, INITIAL_SIZE);
+	}
+
+	/**
+	 * Cria a heap com o array interno ja dimensionado para initialCapacity
+	 * elementos, evitando realocacoes quando o tamanho da carga eh conhecido.
+	 */
+	public HeapImpl(Comparator<T> comparator, int initialCapacity) {
+		this(comparator, initialCapacity, new GeometricGrowthPolicy());
+	}
+
+	@SuppressWarnings("unchecked")
+	public HeapImpl(Comparator<T> comparator, int initialCapacity, GrowthPolicy growthPolicy) {
+		if (initialCapacity < 0 || growthPolicy == null) {
+			throw new IllegalArgumentException();
+		}
+		this.heap = (T[]) (new Comparable[initialCapacity]);
 		this.comparator = comparator;
+		this.growthPolicy = growthPolicy;
 	}
 
 	// /////////////////// METODOS IMPLEMENTADOS
@@ -63,50 +106,151 @@ public class HeapImpl<T extends Comparable<T>> implements Heap<T> {
 		return (i * 2 + 1) + 1;
 	}
 	
-	private boolean isValidIndex(int number) {
-		return number >= 0 && number < this.index;
-	}
-	
-	private boolean isLeaf(int number) {
-		return number > this.parent(this.index) && number <= this.index;
-	}
-	
-	private int compareIndex(int parent, int left, int right) {
-		int result;
-        if (this.comparator.compare(this.heap[parent], this.heap[left]) == 1) {
-            if (
-            		this.isValidIndex(right) && 
-            		this.comparator.compare(this.heap[parent], this.heap[right]) == -1
-            	) {
-            	result = right;
-            } else {
-            	result = parent;
-            }
-        } else {
-                if (
-                		this.isValidIndex(right) &&
-                		this.comparator.compare(this.heap[left], this.heap[right]) == -1
-                	) {
-                    result = right;
-                } else {
-                	result = left;
-                }
-        }
-        return result;
-    }
-	
 	@Override
 	public boolean isEmpty() {
 		return (index == -1);
 	}
 
+	/**
+	 * Copia os elementos da heap, na ordem do array interno, com um unico
+	 * System.arraycopy.
+	 */
+	@SuppressWarnings("unchecked")
 	@Override
 	public T[] toArray() {
-		ArrayList<T> resp = new ArrayList<T>();
-		for (int i = 0; i <= this.index; i++) {
-			resp.add(this.heap[i]);
+		T[] resp = (T[]) new Comparable[this.size()];
+		System.arraycopy(this.heap, 0, resp, 0, resp.length);
+		return resp;
+	}
+
+	/**
+	 * Copia os elementos da heap para o inicio de dest, na ordem do array
+	 * interno, com um unico System.arraycopy e sem alocar. As posicoes de dest
+	 * a partir de size() nao sao alteradas. Lanca IllegalArgumentException se
+	 * dest nao comporta todos os elementos.
+	 */
+	public void copyInto(T[] dest) {
+		if (dest.length < this.size()) {
+			throw new IllegalArgumentException();
+		}
+		System.arraycopy(this.heap, 0, dest, 0, this.size());
+	}
+
+	/**
+	 * Percorre os elementos da heap na ordem do array interno (nao na ordem de
+	 * prioridade), sem copia-los. O iterador falha rapido se a heap for
+	 * modificada depois da sua criacao e nao suporta remove.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new HeapIterator();
+	}
+
+	/**
+	 * Spliterator sobre os elementos da heap, na ordem do array interno, que
+	 * se divide ao meio para streams paralelos. Assim como o iterador, falha
+	 * rapido se a heap for modificada.
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return new HeapSpliterator(0, this.size(), this.modCount);
+	}
+
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		int expectedModCount = this.modCount;
+		T[] elements = this.heap;
+		int size = this.size();
+		for (int i = 0; i < size && this.modCount == expectedModCount; i++) {
+			action.accept(elements[i]);
+		}
+		if (this.modCount != expectedModCount) {
+			throw new ConcurrentModificationException();
+		}
+	}
+
+	private class HeapIterator implements Iterator<T> {
+
+		private final int expectedModCount = modCount;
+		private final int end = size();
+		private int cursor;
+
+		@Override
+		public boolean hasNext() {
+			return this.cursor < this.end;
+		}
+
+		@Override
+		public T next() {
+			if (modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (this.cursor >= this.end) {
+				throw new NoSuchElementException();
+			}
+			return heap[this.cursor++];
+		}
+	}
+
+	private class HeapSpliterator implements Spliterator<T> {
+
+		private final int expectedModCount;
+		private final int fence;
+		private int origin;
+
+		HeapSpliterator(int origin, int fence, int expectedModCount) {
+			this.origin = origin;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			boolean resp = this.origin < this.fence;
+			if (resp) {
+				T element = heap[this.origin++];
+				action.accept(element);
+				this.checkModCount();
+			}
+			return resp;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			T[] elements = heap;
+			for (int i = this.origin; i < this.fence; i++) {
+				action.accept(elements[i]);
+			}
+			this.origin = this.fence;
+			this.checkModCount();
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			int middle = (this.origin + this.fence) >>> 1;
+			Spliterator<T> resp = null;
+			if (this.origin < middle) {
+				resp = new HeapSpliterator(this.origin, middle, this.expectedModCount);
+				this.origin = middle;
+			}
+			return resp;
+		}
+
+		@Override
+		public long estimateSize() {
+			return this.fence - this.origin;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+		}
+
+		private void checkModCount() {
+			if (modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
 		}
-		return (T[])resp.toArray(new Comparable[0]);
 	}
 
 	// ///////////// METODOS A IMPLEMENTAR
@@ -114,44 +258,118 @@ public class HeapImpl<T extends Comparable<T>> implements Heap<T> {
 	 * Valida o invariante de uma heap a partir de determinada posicao, que pode
 	 * ser a raiz da heap ou de uma sub-heap. O heapify deve usar o comparator
 	 * para subir os elementos na heap.
+	 * 
+	 * A descida eh iterativa e usa um "buraco": o elemento da posicao eh
+	 * guardado e os filhos sobem um nivel por vez, de forma que cada nivel
+	 * custa no maximo duas comparacoes (escolher o maior filho e compara-lo
+	 * com o elemento) e o elemento eh escrito uma unica vez, no fim. Apenas o
+	 * sinal do resultado do comparator eh considerado.
 	 */
 	private void heapify(int position) {
-		if (!isLeaf(position) && this.isValidIndex(position)) {
-				int toSwitch = this.compareIndex(position, this.left(position), this.right(position));
-				
-				if (toSwitch != position) {
-	                Util.swap(this.heap, position, toSwitch);
-	                heapify(toSwitch);
+		int size = this.index + 1;
+		if (position < 0 || position >= size) {
+			return;
+		}
+		T element = this.heap[position];
+		int half = size >>> 1;
+		while (position < half) {
+			int child = this.left(position);
+			int right = this.right(position);
+			if (right < size && this.comparator.compare(this.heap[child], this.heap[right]) < 0) {
+				child = right;
 			}
+			if (this.comparator.compare(element, this.heap[child]) >= 0) {
+				break;
+			}
+			this.heap[position] = this.heap[child];
+			position = child;
+		}
+		this.heap[position] = element;
+	}
+
+	/**
+	 * Restaura o invariante depois que o ultimo elemento foi colocado na
+	 * raiz, usando a descida escolhida pelo modo de extracao.
+	 */
+	private void siftDownRoot() {
+		if (this.bottomUpExtraction) {
+			this.bottomUpHeapify(0);
+		} else {
+			this.heapify(0);
+		}
+	}
+
+	/**
+	 * Descida de baixo para cima (Floyd, "bounce"). O elemento que vem do fim
+	 * do array quase sempre volta para perto das folhas, entao em vez de
+	 * compara-lo em cada nivel o buraco desce direto ate uma folha pelo maior
+	 * filho, com uma comparacao por nivel, e so entao o elemento sobe a partir
+	 * dali, normalmente poucos niveis. Isso faz cerca de metade das
+	 * comparacoes do heapify, o que compensa com comparators caros.
+	 */
+	private void bottomUpHeapify(int position) {
+		int size = this.index + 1;
+		if (position < 0 || position >= size) {
+			return;
 		}
+		T element = this.heap[position];
+		int hole = position;
+		int half = size >>> 1;
+		while (hole < half) {
+			int child = this.left(hole);
+			int right = this.right(hole);
+			if (right < size && this.comparator.compare(this.heap[child], this.heap[right]) < 0) {
+				child = right;
+			}
+			this.heap[hole] = this.heap[child];
+			hole = child;
+		}
+		while (hole > position) {
+			int parent = this.parent(hole);
+			if (this.comparator.compare(this.heap[parent], element) >= 0) {
+				break;
+			}
+			this.heap[hole] = this.heap[parent];
+			hole = parent;
+		}
+		this.heap[hole] = element;
+	}
+
+	/**
+	 * Sobe element a partir de position, que deve estar livre. Os pais
+	 * menores descem para o buraco em vez de serem trocados, com uma
+	 * comparacao por nivel.
+	 */
+	private void siftUp(int position, T element) {
+		while (position > 0) {
+			int parent = this.parent(position);
+			T parentElement = this.heap[parent];
+			if (this.comparator.compare(parentElement, element) >= 0) {
+				break;
+			}
+			this.heap[position] = parentElement;
+			position = parent;
+		}
+		this.heap[position] = element;
 	}
 
 	@Override
 	public void insert(T element) {
 		if (element != null) {
 			
-			// ESSE CODIGO E PARA A HEAP CRESCER SE FOR PRECISO. NAO MODIFIQUE
 			if (index == heap.length - 1) {
-				heap = Arrays.copyOf(heap, heap.length + INCREASING_FACTOR);
+				this.ensureCapacity(index + 2);
 			}
-			// /////////////////////////////////////////////////////////////////
-			
 			
 			this.index += 1;
-			this.heap[index] = element;
-			
-			int i = index;
-			while (i > 0 && this.comparator.compare(this.heap[this.parent(i)], this.heap[i]) == -1) {
-				T aux = this.heap[i];
-				this.heap[i] = this.heap[this.parent(i)];
-				this.heap[this.parent(i)] = aux;
-				i = this.parent(i);
-			}
+			this.siftUp(this.index, element);
+			this.modCount++;
 		}
 	}
 
 	@Override
 	public void buildHeap(T[] array) {
+		this.modCount++;
 		this.heap = array;
 		this.index = array.length - 1;
 		for (int i = this.parent(this.index); i >= 0; i--)
@@ -159,20 +377,146 @@ public class HeapImpl<T extends Comparable<T>> implements Heap<T> {
 			
 	}
 
+	/**
+	 * Insere todos os elementos do array, ignorando os null, com uma unica
+	 * verificacao de capacidade. Veja insertAll(Collection).
+	 */
+	public void insertAll(T[] elements) {
+		this.insertAll(Arrays.asList(elements));
+	}
+
+	/**
+	 * Insere todos os elementos da colecao, ignorando os null. Se o lote eh
+	 * grande em relacao a heap (m log(n + m) >= n + m, ou seja, m sift-ups no
+	 * pior caso custariam mais que reconstruir tudo), os elementos sao so
+	 * copiados para o fim do array e a heap inteira eh reconstruida bottom-up
+	 * em O(n + m). Caso contrario cada elemento sobe como no insert.
+	 */
+	public void insertAll(Collection<? extends T> elements) {
+		int total = this.size() + elements.size();
+		this.ensureCapacity(total);
+		this.modCount++;
+		long siftUpCost = (long) elements.size() * (32 - Integer.numberOfLeadingZeros(total));
+		if (siftUpCost >= total) {
+			for (T element : elements) {
+				if (element != null) {
+					this.index += 1;
+					this.heap[this.index] = element;
+				}
+			}
+			for (int i = this.parent(this.index); i >= 0; i--) {
+				this.heapify(i);
+			}
+		} else {
+			for (T element : elements) {
+				if (element != null) {
+					this.index += 1;
+					this.siftUp(this.index, element);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Acrescenta a esta heap os elementos de other, que nao eh modificada. Os
+	 * elementos sao copiados com toArray e entram por insertAll, entao a
+	 * juncao custa O(n + m) mesmo que other use outro comparator.
+	 */
+	public void merge(Heap<T> other) {
+		this.insertAll(Arrays.asList(other.toArray()));
+	}
+
+	/**
+	 * Constroi a heap como o buildHeap, mas heapificando sub-arvores
+	 * independentes em paralelo no ForkJoinPool comum: as duas sub-arvores de
+	 * um no sao construidas em tarefas separadas e so depois o no desce. Sub-
+	 * arvores pequenas sao construidas sequencialmente, em pos-ordem.
+	 */
+	public void parallelBuildHeap(T[] array) {
+		this.parallelBuildHeap(array, ForkJoinPool.commonPool());
+	}
+
+	public void parallelBuildHeap(T[] array, ForkJoinPool pool) {
+		if (array.length <= PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+			this.buildHeap(array);
+		} else {
+			this.heap = array;
+			this.index = array.length - 1;
+			this.modCount++;
+			pool.invoke(new BuildHeapTask(0));
+		}
+	}
+
+	/**
+	 * Constroi a sub-heap enraizada em root. Como cada tarefa so escreve nas
+	 * posicoes da sua sub-arvore, tarefas irmas nunca se sobrepoem.
+	 */
+	private class BuildHeapTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int root;
+
+		BuildHeapTask(int root) {
+			this.root = root;
+		}
+
+		@Override
+		protected void compute() {
+			int level = 31 - Integer.numberOfLeadingZeros(this.root + 1);
+			if ((HeapImpl.this.size() >>> level) <= PARALLEL_THRESHOLD) {
+				this.buildSequentially(this.root);
+			} else {
+				invokeAll(new BuildHeapTask(left(this.root)), new BuildHeapTask(right(this.root)));
+				heapify(this.root);
+			}
+		}
+
+		private void buildSequentially(int position) {
+			if (position < (HeapImpl.this.size() >>> 1)) {
+				this.buildSequentially(left(position));
+				this.buildSequentially(right(position));
+				heapify(position);
+			}
+		}
+	}
+
 	@Override
 	public T extractRootElement() {
 		T root = null;
 		if (!this.isEmpty()) {
 			root = this.heap[0];
 			this.heap[0] = this.heap[index];
-			this.heap[index] = root;
+			this.heap[index] = null;
 			this.index -= 1;
+			this.modCount++;
 			
-			this.heapify(0);
+			this.siftDownRoot();
 		}
         return root;
 	}
 
+	/**
+	 * Remove e retorna a raiz, colocando element em seu lugar. Equivale a um
+	 * extractRootElement seguido de insert, mas com um unico heapify. Se a
+	 * heap estiver vazia, element eh apenas inserido e o metodo retorna null;
+	 * se element for null, o metodo se comporta como extractRootElement.
+	 */
+	public T replaceRootElement(T element) {
+		T root = null;
+		if (element == null) {
+			root = this.extractRootElement();
+		} else if (this.isEmpty()) {
+			this.insert(element);
+		} else {
+			root = this.heap[0];
+			this.heap[0] = element;
+			this.heapify(0);
+			this.modCount++;
+		}
+		return root;
+	}
+
 	@Override
 	public T rootElement() {
 		T root = null;
@@ -182,30 +526,117 @@ public class HeapImpl<T extends Comparable<T>> implements Heap<T> {
 		return root;
 	}
 
+	/**
+	 * Com um ComparatorMinHeap, a ordenacao usa o comparator invertido. Assim
+	 * a heap de ordenacao eh sempre uma max-heap e o resultado ja sai em ordem
+	 * crescente, sem a inversao do array no final.
+	 */
 	@Override
 	public T[] heapsort(T[] array) {
-		this.heap = array;
-		this.buildHeap(array);
-		while (this.size() > 0) {
-			Util.swap(this.heap, 0, this.index);
-			this.index--;
-			this.heapify(0);
-		}
-		if (this.comparator instanceof ComparatorMinHeap) {
-			int j = this.heap.length - 1;
-			for (int i = 0; i < this.heap.length / 2; i++) {
-				Util.swap(this.heap, i, j);
-				j--;
+		Comparator<T> original = this.comparator;
+		this.comparator = this.ascendingComparator();
+		try {
+			this.buildHeap(array);
+			while (this.size() > 0) {
+				Util.swap(this.heap, 0, this.index);
+				this.index--;
+				this.siftDownRoot();
 			}
+		} finally {
+			this.comparator = original;
 		}
 		return this.heap;
 	}
 
+	/**
+	 * Ordena o array em ordem crescente como o heapsort, mas usando todos os
+	 * processadores do ForkJoinPool comum: o array eh dividido em pedacos que
+	 * sao ordenados por heapsort em paralelo e depois intercalados (merge),
+	 * tambem em paralelo. Usa um buffer auxiliar do tamanho do array. Ao
+	 * final a heap fica vazia, como no heapsort.
+	 */
+	public T[] parallelHeapsort(T[] array) {
+		return this.parallelHeapsort(array, ForkJoinPool.commonPool());
+	}
+
+	@SuppressWarnings("unchecked")
+	public T[] parallelHeapsort(T[] array, ForkJoinPool pool) {
+		T[] result;
+		if (array.length <= PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+			result = this.heapsort(array);
+		} else {
+			int chunk = Math.max(PARALLEL_THRESHOLD, array.length / (pool.getParallelism() * 4));
+			T[] buffer = (T[]) new Comparable[array.length];
+			pool.invoke(new ParallelHeapsortTask<T>(array, buffer, 0, array.length, this.ascendingComparator(), chunk));
+			this.heap = array;
+			this.index = -1;
+			this.modCount++;
+			result = array;
+		}
+		return result;
+	}
+
+	/**
+	 * Comparator que deixa o array em ordem crescente quando usado como
+	 * max-heap: o proprio comparator, ou o inverso se for um ComparatorMinHeap
+	 * (mesmo que envolvido por um CountingComparator).
+	 */
+	private Comparator<T> ascendingComparator() {
+		return ascendingComparator(this.comparator);
+	}
+
+	static <T> Comparator<T> ascendingComparator(Comparator<T> comparator) {
+		Comparator<T> ascending = comparator;
+		Comparator<T> base = comparator;
+		while (base instanceof CountingComparator) {
+			base = ((CountingComparator<T>) base).getComparator();
+		}
+		if (base instanceof ComparatorMinHeap) {
+			ascending = ascending.reversed();
+		}
+		return ascending;
+	}
+
 	@Override
 	public int size() {
 		return this.index + 1;
 	}
 
+	/**
+	 * Remove todos os elementos da heap, mantendo a capacidade do array
+	 * interno.
+	 */
+	public void clear() {
+		Arrays.fill(this.heap, 0, this.index + 1, null);
+		this.index = -1;
+		this.modCount++;
+	}
+
+	/**
+	 * Garante que o array interno comporta pelo menos minCapacity elementos
+	 * sem precisar crescer. Se for preciso crescer, a nova capacidade eh
+	 * decidida pela politica de crescimento.
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > this.heap.length) {
+			this.heap = Arrays.copyOf(this.heap, this.growthPolicy.newCapacity(this.heap.length, minCapacity));
+		}
+	}
+
+	/**
+	 * Reduz o array interno ao numero de elementos da heap, liberando a
+	 * memoria que sobrou depois de muitas remocoes.
+	 */
+	public void trimToSize() {
+		if (this.size() < this.heap.length) {
+			this.heap = Arrays.copyOf(this.heap, this.size());
+		}
+	}
+
+	public int capacity() {
+		return this.heap.length;
+	}
+
 	public Comparator<T> getComparator() {
 		return comparator;
 	}
@@ -214,6 +645,36 @@ public class HeapImpl<T extends Comparable<T>> implements Heap<T> {
 		this.comparator = comparator;
 	}
 
+	public GrowthPolicy getGrowthPolicy() {
+		return growthPolicy;
+	}
+
+	public void setGrowthPolicy(GrowthPolicy growthPolicy) {
+		if (growthPolicy == null) {
+			throw new IllegalArgumentException();
+		}
+		this.growthPolicy = growthPolicy;
+	}
+
+	public boolean isBottomUpExtraction() {
+		return bottomUpExtraction;
+	}
+
+	/**
+	 * Liga ou desliga a extracao de baixo para cima (veja bottomUpHeapify) em
+	 * extractRootElement e heapsort.
+	 */
+	public void setBottomUpExtraction(boolean bottomUpExtraction) {
+		this.bottomUpExtraction = bottomUpExtraction;
+	}
+
+	/**
+	 * Retorna o proprio array interno, sem copia. So as posicoes de 0 a
+	 * size() - 1 sao elementos da heap; as demais podem conter null ou
+	 * elementos antigos (depois de um heapsort, o array ordenado inteiro).
+	 * Para ler o conteudo sem expor o array, use iterator, forEach ou
+	 * copyInto.
+	 */
 	public T[] getHeap() {
 		return heap;
 	}
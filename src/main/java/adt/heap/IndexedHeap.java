@@ -0,0 +1,39 @@
+package adt.heap;
+
+/**
+ * Heap em que cada elemento inserido recebe um handle. Com o handle eh
+ * possivel mudar a prioridade ou remover o elemento em O(log n), sem
+ * reconstruir a heap nem inserir duplicatas.
+ */
+public interface IndexedHeap<T extends Comparable<T>> extends Heap<T> {
+
+	/**
+	 * Insere o elemento e retorna o handle que o identifica. Retorna null se
+	 * o elemento for null.
+	 */
+	public abstract HeapHandle<T> insertWithHandle(T element);
+
+	/**
+	 * Substitui o elemento do handle por element e restaura o invariante.
+	 * Lanca IllegalArgumentException se o handle nao estiver nesta heap.
+	 */
+	public abstract void changePriority(HeapHandle<T> handle, T element);
+
+	/**
+	 * Restaura o invariante depois que o elemento do handle foi alterado
+	 * externamente (por exemplo, um campo usado pelo compareTo). Lanca
+	 * IllegalArgumentException se o handle nao estiver nesta heap.
+	 */
+	public abstract void changePriority(HeapHandle<T> handle);
+
+	/**
+	 * Remove o elemento do handle e o retorna. Retorna null se o handle nao
+	 * estiver nesta heap.
+	 */
+	public abstract T remove(HeapHandle<T> handle);
+
+	/**
+	 * Diz se o elemento do handle esta nesta heap.
+	 */
+	public abstract boolean contains(HeapHandle<T> handle);
+}
@@ -0,0 +1,250 @@
+package adt.heap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Heap binaria indexada. O array interno guarda handles em vez dos
+ * elementos, e toda vez que o sift move um handle a sua posicao eh
+ * atualizada; esse mapa de posicoes eh o que torna changePriority, remove e
+ * contains O(log n) ou O(1). A ordem segue a mesma convencao da HeapImpl: o
+ * elemento que o comparator considera maior fica no topo.
+ */
+public class IndexedHeapImpl<T extends Comparable<T>> implements IndexedHeap<T> {
+
+	private static final int INITIAL_SIZE = 20;
+
+	protected HeapHandle<T>[] heap;
+	protected int index = -1;
+	protected Comparator<T> comparator;
+	protected GrowthPolicy growthPolicy;
+
+	public IndexedHeapImpl(Comparator<T> comparator) {
+		this(comparator, INITIAL_SIZE);
+	}
+
+	@SuppressWarnings("unchecked")
+	public IndexedHeapImpl(Comparator<T> comparator, int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.heap = new HeapHandle[initialCapacity];
+		this.comparator = comparator;
+		this.growthPolicy = new GeometricGrowthPolicy();
+	}
+
+	private int parent(int i) {
+		return (i - 1) / 2;
+	}
+
+	private int left(int i) {
+		return (i * 2 + 1);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (index == -1);
+	}
+
+	@Override
+	public int size() {
+		return this.index + 1;
+	}
+
+	@Override
+	public void insert(T element) {
+		this.insertWithHandle(element);
+	}
+
+	@Override
+	public HeapHandle<T> insertWithHandle(T element) {
+		HeapHandle<T> handle = null;
+		if (element != null) {
+			if (this.index == this.heap.length - 1) {
+				this.heap = Arrays.copyOf(this.heap, this.growthPolicy.newCapacity(this.heap.length, this.index + 2));
+			}
+			handle = new HeapHandle<T>(element, this);
+			this.index += 1;
+			this.siftUp(this.index, handle);
+		}
+		return handle;
+	}
+
+	@Override
+	public T extractRootElement() {
+		T root = null;
+		if (!this.isEmpty()) {
+			root = this.removeAt(0);
+		}
+		return root;
+	}
+
+	@Override
+	public T rootElement() {
+		T root = null;
+		if (!this.isEmpty()) {
+			root = this.heap[0].element;
+		}
+		return root;
+	}
+
+	@Override
+	public void changePriority(HeapHandle<T> handle, T element) {
+		if (element == null || !this.contains(handle)) {
+			throw new IllegalArgumentException();
+		}
+		handle.element = element;
+		this.restore(handle.position);
+	}
+
+	@Override
+	public void changePriority(HeapHandle<T> handle) {
+		if (!this.contains(handle)) {
+			throw new IllegalArgumentException();
+		}
+		this.restore(handle.position);
+	}
+
+	@Override
+	public T remove(HeapHandle<T> handle) {
+		T element = null;
+		if (this.contains(handle)) {
+			element = this.removeAt(handle.position);
+		}
+		return element;
+	}
+
+	@Override
+	public boolean contains(HeapHandle<T> handle) {
+		return handle != null && handle.owner == this;
+	}
+
+	/**
+	 * Constroi a heap com os elementos do array, criando um handle para cada
+	 * um. Elementos null sao ignorados. Os handles anteriores deixam de
+	 * pertencer a heap.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void buildHeap(T[] array) {
+		this.clear();
+		HeapHandle<T>[] handles = new HeapHandle[array.length];
+		int size = 0;
+		for (T element : array) {
+			if (element != null) {
+				HeapHandle<T> handle = new HeapHandle<T>(element, this);
+				handle.position = size;
+				handles[size++] = handle;
+			}
+		}
+		this.heap = handles;
+		this.index = size - 1;
+		for (int i = (size >>> 1) - 1; i >= 0; i--) {
+			this.siftDown(i, this.heap[i]);
+		}
+	}
+
+	/**
+	 * Ordena usando uma HeapImpl com o mesmo comparator, ja que ordenar nao
+	 * precisa de handles. Como na HeapImpl, a heap fica vazia ao final.
+	 */
+	@Override
+	public T[] heapsort(T[] array) {
+		this.clear();
+		return new HeapImpl<T>(this.comparator).heapsort(array);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T[] toArray() {
+		T[] resp = (T[]) new Comparable[this.size()];
+		for (int i = 0; i <= this.index; i++) {
+			resp[i] = this.heap[i].element;
+		}
+		return resp;
+	}
+
+	/**
+	 * Remove todos os elementos; os handles existentes ficam inativos.
+	 */
+	public void clear() {
+		for (int i = 0; i <= this.index; i++) {
+			this.detach(this.heap[i]);
+			this.heap[i] = null;
+		}
+		this.index = -1;
+	}
+
+	public Comparator<T> getComparator() {
+		return comparator;
+	}
+
+	private T removeAt(int position) {
+		HeapHandle<T> removed = this.heap[position];
+		HeapHandle<T> last = this.heap[this.index];
+		this.heap[this.index] = null;
+		this.index -= 1;
+		if (position <= this.index) {
+			this.heap[position] = last;
+			last.position = position;
+			this.restore(position);
+		}
+		this.detach(removed);
+		return removed.element;
+	}
+
+	private void detach(HeapHandle<T> handle) {
+		handle.position = -1;
+		handle.owner = null;
+	}
+
+	/**
+	 * Restaura o invariante na posicao, subindo ou descendo o handle conforme
+	 * o necessario.
+	 */
+	private void restore(int position) {
+		HeapHandle<T> handle = this.heap[position];
+		if (position > 0 && this.comparator.compare(this.heap[this.parent(position)].element, handle.element) < 0) {
+			this.siftUp(position, handle);
+		} else {
+			this.siftDown(position, handle);
+		}
+	}
+
+	private void siftUp(int position, HeapHandle<T> handle) {
+		while (position > 0) {
+			int parent = this.parent(position);
+			HeapHandle<T> parentHandle = this.heap[parent];
+			if (this.comparator.compare(parentHandle.element, handle.element) >= 0) {
+				break;
+			}
+			this.place(position, parentHandle);
+			position = parent;
+		}
+		this.place(position, handle);
+	}
+
+	private void siftDown(int position, HeapHandle<T> handle) {
+		int size = this.index + 1;
+		int half = size >>> 1;
+		while (position < half) {
+			int child = this.left(position);
+			int right = child + 1;
+			if (right < size && this.comparator.compare(this.heap[child].element, this.heap[right].element) < 0) {
+				child = right;
+			}
+			if (this.comparator.compare(handle.element, this.heap[child].element) >= 0) {
+				break;
+			}
+			this.place(position, this.heap[child]);
+			position = child;
+		}
+		this.place(position, handle);
+	}
+
+	private void place(int position, HeapHandle<T> handle) {
+		this.heap[position] = handle;
+		handle.position = position;
+	}
+
+}
@@ -0,0 +1,77 @@
+package adt.heap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Intercala k fontes ja ordenadas em uma unica sequencia ordenada, sob
+ * demanda. Uma HeapImpl guarda o indice de cada fonte nao esgotada,
+ * ordenado pelo elemento corrente da fonte, entao a memoria eh O(k) e cada
+ * next custa O(log k), sem materializar a saida. As fontes sao copiadas para
+ * um ArrayList, para que o acesso por indice seja O(1) qualquer que seja a
+ * lista recebida.
+ *
+ * O comparator segue a convencao da HeapImpl: com ComparatorMinHeap a saida
+ * eh crescente (as fontes devem estar em ordem crescente) e com
+ * ComparatorMaxHeap eh decrescente. Elementos iguais saem na ordem das fontes
+ * na lista, ou seja, a intercalacao eh estavel. Fontes que retornam null sao
+ * tratadas como se tivessem terminado.
+ */
+public class KWayMergeIterator<T extends Comparable<T>> implements Iterator<T> {
+
+	private final List<Iterator<? extends T>> sources;
+	private final List<T> values;
+	private final HeapImpl<Integer> heap;
+
+	public KWayMergeIterator(final Comparator<T> comparator, List<? extends Iterator<? extends T>> sources) {
+		this.sources = new ArrayList<Iterator<? extends T>>(sources);
+		this.values = new ArrayList<T>(Collections.<T>nCopies(this.sources.size(), null));
+		this.heap = new HeapImpl<Integer>((o1, o2) -> {
+			int resp = comparator.compare(this.values.get(o1), this.values.get(o2));
+			if (resp == 0) {
+				resp = Integer.compare(o2, o1);
+			}
+			return resp;
+		}, this.sources.size());
+		for (int i = 0; i < this.sources.size(); i++) {
+			if (this.advance(i)) {
+				this.heap.insert(i);
+			}
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return !this.heap.isEmpty();
+	}
+
+	/**
+	 * Retorna o proximo elemento e ja busca o seguinte da mesma fonte. O
+	 * indice da fonte volta para a heap com um unico replaceRootElement.
+	 */
+	@Override
+	public T next() {
+		Integer source = this.heap.rootElement();
+		if (source == null) {
+			throw new NoSuchElementException();
+		}
+		T resp = this.values.get(source);
+		if (this.advance(source)) {
+			this.heap.replaceRootElement(source);
+		} else {
+			this.heap.extractRootElement();
+		}
+		return resp;
+	}
+
+	private boolean advance(int source) {
+		Iterator<? extends T> iterator = this.sources.get(source);
+		T value = iterator.hasNext() ? iterator.next() : null;
+		this.values.set(source, value);
+		return value != null;
+	}
+}
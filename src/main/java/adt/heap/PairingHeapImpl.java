@@ -0,0 +1,211 @@
+package adt.heap;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+
+/**
+ * Pairing heap: uma arvore de nos encadeados (primeiro filho e proximo irmao)
+ * em vez de um array. insert e meld sao O(1), porque so ligam duas raizes;
+ * extractRootElement junta os filhos da raiz em duas passadas (pares da
+ * esquerda para a direita e depois da direita para a esquerda) e custa
+ * O(log n) amortizado. Compensa quando as heaps sao juntadas com frequencia,
+ * o que na HeapImpl custa O(n + m).
+ *
+ * A ordem segue a convencao da HeapImpl: o elemento que o comparator
+ * considera maior fica no topo.
+ */
+public class PairingHeapImpl<T extends Comparable<T>> implements Heap<T> {
+
+	protected Node<T> root;
+	protected int size;
+	protected Comparator<T> comparator;
+
+	public PairingHeapImpl(Comparator<T> comparator) {
+		this.comparator = comparator;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.root == null;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public void insert(T element) {
+		if (element != null) {
+			this.root = this.link(this.root, new Node<T>(element));
+			this.size++;
+		}
+	}
+
+	/**
+	 * Move todos os elementos de other para esta heap em O(1); other fica
+	 * vazia. As duas heaps devem usar comparators equivalentes.
+	 */
+	public void meld(PairingHeapImpl<T> other) {
+		if (other != this && other.root != null) {
+			this.root = this.link(this.root, other.root);
+			this.size += other.size;
+			other.root = null;
+			other.size = 0;
+		}
+	}
+
+	@Override
+	public T extractRootElement() {
+		T resp = null;
+		if (this.root != null) {
+			resp = this.root.element;
+			this.root = this.combineSiblings(this.root.child);
+			this.size--;
+		}
+		return resp;
+	}
+
+	@Override
+	public T rootElement() {
+		T resp = null;
+		if (this.root != null) {
+			resp = this.root.element;
+		}
+		return resp;
+	}
+
+	/**
+	 * Ordena em ordem crescente inserindo os elementos com o comparator
+	 * ajustado (como no heapsort da HeapImpl) e extraindo do fim para o
+	 * inicio do array. Ao final a heap fica vazia.
+	 */
+	@Override
+	public T[] heapsort(T[] array) {
+		Comparator<T> original = this.comparator;
+		this.comparator = HeapImpl.ascendingComparator(original);
+		try {
+			this.buildHeap(array);
+			int position = array.length;
+			while (!this.isEmpty()) {
+				array[--position] = this.extractRootElement();
+			}
+		} finally {
+			this.comparator = original;
+		}
+		return array;
+	}
+
+	/**
+	 * Descarta os elementos atuais e insere os do array, em O(n). Elementos null
+	 * sao ignorados.
+	 */
+	@Override
+	public void buildHeap(T[] array) {
+		this.clear();
+		for (T element : array) {
+			this.insert(element);
+		}
+	}
+
+	/**
+	 * Retorna os elementos em pre-ordem da arvore (a raiz primeiro); fora a
+	 * raiz, a ordem nao tem relacao com a prioridade.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T[] toArray() {
+		T[] resp = (T[]) new Comparable[this.size];
+		int position = 0;
+		Deque<Node<T>> pending = new ArrayDeque<Node<T>>();
+		if (this.root != null) {
+			pending.push(this.root);
+		}
+		while (!pending.isEmpty()) {
+			Node<T> node = pending.pop();
+			resp[position++] = node.element;
+			if (node.sibling != null) {
+				pending.push(node.sibling);
+			}
+			if (node.child != null) {
+				pending.push(node.child);
+			}
+		}
+		return resp;
+	}
+
+	public void clear() {
+		this.root = null;
+		this.size = 0;
+	}
+
+	public Comparator<T> getComparator() {
+		return comparator;
+	}
+
+	/**
+	 * Liga duas arvores sem irmaos: a raiz menor vira o primeiro filho da
+	 * maior. Retorna a nova raiz.
+	 */
+	private Node<T> link(Node<T> first, Node<T> second) {
+		Node<T> resp;
+		if (first == null) {
+			resp = second;
+		} else if (second == null) {
+			resp = first;
+		} else if (this.comparator.compare(first.element, second.element) >= 0) {
+			second.sibling = first.child;
+			first.child = second;
+			resp = first;
+		} else {
+			first.sibling = second.child;
+			second.child = first;
+			resp = second;
+		}
+		return resp;
+	}
+
+	/**
+	 * Junta as arvores da lista de irmaos que comeca em first, em duas
+	 * passadas e sem recursao. A primeira liga pares vizinhos e empilha os
+	 * resultados pelo campo sibling (o ultimo par fica no topo); a segunda
+	 * desempilha ligando cada arvore ao acumulado, ou seja, da direita para a
+	 * esquerda.
+	 */
+	private Node<T> combineSiblings(Node<T> first) {
+		Node<T> pairs = null;
+		Node<T> current = first;
+		while (current != null) {
+			Node<T> a = current;
+			Node<T> b = a.sibling;
+			current = b == null ? null : b.sibling;
+			a.sibling = null;
+			if (b != null) {
+				b.sibling = null;
+			}
+			Node<T> linked = this.link(a, b);
+			linked.sibling = pairs;
+			pairs = linked;
+		}
+		Node<T> resp = null;
+		while (pairs != null) {
+			Node<T> next = pairs.sibling;
+			pairs.sibling = null;
+			resp = this.link(pairs, resp);
+			pairs = next;
+		}
+		return resp;
+	}
+
+	protected static final class Node<T> {
+
+		private final T element;
+		private Node<T> child;
+		private Node<T> sibling;
+
+		private Node(T element) {
+			this.element = element;
+		}
+	}
+}
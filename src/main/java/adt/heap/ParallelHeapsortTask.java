@@ -0,0 +1,102 @@
+package adt.heap;
+
+import java.util.Comparator;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tarefa do HeapImpl.parallelHeapsort. Divide [from, to) ao meio ate o
+ * tamanho chunk, ordena cada pedaco por heapsort e intercala as metades na
+ * volta da recursao. O comparator deve deixar o array em ordem crescente
+ * quando usado como max-heap (maior no topo).
+ */
+class ParallelHeapsortTask<T> extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	private final T[] array;
+	private final T[] buffer;
+	private final int from;
+	private final int to;
+	private final Comparator<T> comparator;
+	private final int chunk;
+
+	ParallelHeapsortTask(T[] array, T[] buffer, int from, int to, Comparator<T> comparator, int chunk) {
+		this.array = array;
+		this.buffer = buffer;
+		this.from = from;
+		this.to = to;
+		this.comparator = comparator;
+		this.chunk = chunk;
+	}
+
+	@Override
+	protected void compute() {
+		if (this.to - this.from <= this.chunk) {
+			heapsort(this.array, this.from, this.to, this.comparator);
+		} else {
+			int middle = (this.from + this.to) >>> 1;
+			invokeAll(new ParallelHeapsortTask<T>(this.array, this.buffer, this.from, middle, this.comparator, this.chunk),
+					new ParallelHeapsortTask<T>(this.array, this.buffer, middle, this.to, this.comparator, this.chunk));
+			this.merge(middle);
+		}
+	}
+
+	/**
+	 * Intercala [from, middle) e [middle, to), ja ordenados. A metade da
+	 * esquerda eh copiada para o buffer e o resultado eh escrito de volta no
+	 * array. Em caso de empate a esquerda vem primeiro.
+	 */
+	private void merge(int middle) {
+		if (this.comparator.compare(this.array[middle - 1], this.array[middle]) <= 0) {
+			return;
+		}
+		System.arraycopy(this.array, this.from, this.buffer, this.from, middle - this.from);
+		int left = this.from;
+		int right = middle;
+		int position = this.from;
+		while (left < middle && right < this.to) {
+			if (this.comparator.compare(this.array[right], this.buffer[left]) < 0) {
+				this.array[position++] = this.array[right++];
+			} else {
+				this.array[position++] = this.buffer[left++];
+			}
+		}
+		while (left < middle) {
+			this.array[position++] = this.buffer[left++];
+		}
+	}
+
+	/**
+	 * Heapsort de [from, to), com a heap enraizada em from.
+	 */
+	static <T> void heapsort(T[] array, int from, int to, Comparator<T> comparator) {
+		int size = to - from;
+		for (int i = (size >>> 1) - 1; i >= 0; i--) {
+			siftDown(array, from, i, array[from + i], size, comparator);
+		}
+		for (int last = size - 1; last > 0; last--) {
+			T root = array[from];
+			siftDown(array, from, 0, array[from + last], last, comparator);
+			array[from + last] = root;
+		}
+	}
+
+	private static <T> void siftDown(T[] array, int from, int position, T element, int size,
+			Comparator<T> comparator) {
+		int half = size >>> 1;
+		while (position < half) {
+			int child = 2 * position + 1;
+			int right = child + 1;
+			if (right < size && comparator.compare(array[from + child], array[from + right]) < 0) {
+				child = right;
+			}
+			if (comparator.compare(element, array[from + child]) >= 0) {
+				break;
+			}
+			array[from + position] = array[from + child];
+			position = child;
+		}
+		array[from + position] = element;
+	}
+
+}
@@ -0,0 +1,288 @@
+package adt.heap.concurrent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import adt.heap.Heap;
+import adt.heap.HeapImpl;
+
+/**
+ * Heap thread-safe para varios produtores e consumidores, no modelo de
+ * multi-queue relaxada: os elementos ficam espalhados em varias HeapImpl
+ * (stripes), cada uma protegida pelo seu proprio ReentrantLock, em vez de uma
+ * unica heap atras de um lock global.
+ *
+ * Modelo de consistencia:
+ * <ul>
+ * <li>insert coloca o elemento em uma stripe aleatoria, tentando outra se o
+ * lock estiver ocupado.</li>
+ * <li>extractRootElement sorteia duas stripes e remove a raiz da que tem o
+ * melhor topo. O elemento retornado eh o topo de uma stripe, mas nao
+ * necessariamente o topo global: a ordem eh relaxada, inclusive com uma unica
+ * thread, e o erro de posto esperado cresce com o numero de stripes. Com uma
+ * stripe a heap eh exata.</li>
+ * <li>extractRootElement so retorna null depois de percorrer todas as stripes
+ * (uma de cada vez) e encontrar todas vazias; um insert concorrente em uma
+ * stripe ja visitada pode nao ser visto.</li>
+ * <li>Nenhum elemento eh perdido ou retornado duas vezes.</li>
+ * <li>rootElement, size e isEmpty nao usam lock e retornam uma fotografia
+ * aproximada, somando os tamanhos publicados por cada stripe (nao ha contador
+ * compartilhado disputado por insert e extractRootElement). buildHeap e toArray travam todas as stripes (em ordem, sem
+ * risco de deadlock) e enxergam um estado consistente. heapsort nao usa o
+ * conteudo anterior da heap, que eh descartado.</li>
+ * </ul>
+ */
+public class MultiQueueHeap<T extends Comparable<T>> implements Heap<T> {
+
+	private static final int SAMPLES = 2;
+
+	private final Comparator<T> comparator;
+	private final Stripe<T>[] stripes;
+
+	public MultiQueueHeap(Comparator<T> comparator) {
+		this(comparator, 2 * Runtime.getRuntime().availableProcessors());
+	}
+
+	@SuppressWarnings("unchecked")
+	public MultiQueueHeap(Comparator<T> comparator, int stripes) {
+		if (stripes < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.comparator = comparator;
+		this.stripes = new Stripe[stripes];
+		for (int i = 0; i < stripes; i++) {
+			this.stripes[i] = new Stripe<T>(comparator);
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		boolean resp = true;
+		for (int i = 0; i < this.stripes.length && resp; i++) {
+			resp = this.stripes[i].size == 0;
+		}
+		return resp;
+	}
+
+	@Override
+	public int size() {
+		int resp = 0;
+		for (Stripe<T> stripe : this.stripes) {
+			resp += stripe.size;
+		}
+		return resp;
+	}
+
+	public int getStripes() {
+		return this.stripes.length;
+	}
+
+	@Override
+	public void insert(T element) {
+		if (element != null) {
+			Stripe<T> stripe = this.stripes[this.randomStripe()];
+			if (!stripe.lock.tryLock()) {
+				stripe = this.stripes[this.randomStripe()];
+				stripe.lock.lock();
+			}
+			try {
+				stripe.heap.insert(element);
+				stripe.publish();
+			} finally {
+				stripe.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Remove a raiz da melhor de duas stripes sorteadas. Se o sorteio cair em
+	 * stripes vazias ou ocupadas por algumas vezes seguidas, percorre todas as
+	 * stripes antes de desistir.
+	 */
+	@Override
+	public T extractRootElement() {
+		T resp = null;
+		for (int attempt = 0; attempt < this.stripes.length && resp == null; attempt++) {
+			Stripe<T> best = this.sample();
+			if (best != null && best.lock.tryLock()) {
+				try {
+					resp = this.extract(best);
+				} finally {
+					best.lock.unlock();
+				}
+			}
+		}
+		for (int i = 0; i < this.stripes.length && resp == null; i++) {
+			Stripe<T> stripe = this.stripes[i];
+			stripe.lock.lock();
+			try {
+				resp = this.extract(stripe);
+			} finally {
+				stripe.lock.unlock();
+			}
+		}
+		return resp;
+	}
+
+	/**
+	 * Melhor topo entre todas as stripes, lido sem lock.
+	 */
+	@Override
+	public T rootElement() {
+		T resp = null;
+		for (Stripe<T> stripe : this.stripes) {
+			T top = stripe.top;
+			if (top != null && (resp == null || this.comparator.compare(top, resp) > 0)) {
+				resp = top;
+			}
+		}
+		return resp;
+	}
+
+	/**
+	 * Ordena o array com uma HeapImpl local. Como nas demais implementacoes, a
+	 * heap fica vazia ao final.
+	 */
+	@Override
+	public T[] heapsort(T[] array) {
+		this.lockAll();
+		try {
+			for (Stripe<T> stripe : this.stripes) {
+				stripe.heap.clear();
+				stripe.publish();
+			}
+		} finally {
+			this.unlockAll();
+		}
+		return new HeapImpl<T>(this.comparator).heapsort(array);
+	}
+
+	/**
+	 * Substitui o conteudo da heap pelos elementos do array, distribuidos em
+	 * fatias contiguas entre as stripes; cada stripe eh construida bottom-up.
+	 */
+	@Override
+	public void buildHeap(T[] array) {
+		this.lockAll();
+		try {
+			int from = 0;
+			for (int i = 0; i < this.stripes.length; i++) {
+				int to = (int) ((long) array.length * (i + 1) / this.stripes.length);
+				List<T> slice = new ArrayList<T>(to - from);
+				for (int j = from; j < to; j++) {
+					if (array[j] != null) {
+						slice.add(array[j]);
+					}
+				}
+				@SuppressWarnings("unchecked")
+				T[] elements = slice.toArray((T[]) new Comparable[slice.size()]);
+				Stripe<T> stripe = this.stripes[i];
+				stripe.heap.buildHeap(elements);
+				stripe.publish();
+				from = to;
+			}
+		} finally {
+			this.unlockAll();
+		}
+	}
+
+	/**
+	 * Concatena o conteudo das stripes, cada uma na ordem do seu array
+	 * interno.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T[] toArray() {
+		this.lockAll();
+		try {
+			int total = 0;
+			for (Stripe<T> stripe : this.stripes) {
+				total += stripe.heap.size();
+			}
+			T[] resp = (T[]) new Comparable[total];
+			int position = 0;
+			for (Stripe<T> stripe : this.stripes) {
+				T[] elements = stripe.heap.toArray();
+				System.arraycopy(elements, 0, resp, position, elements.length);
+				position += elements.length;
+			}
+			return resp;
+		} finally {
+			this.unlockAll();
+		}
+	}
+
+	/**
+	 * Sorteia SAMPLES stripes e retorna a de melhor topo, ou null se todas as
+	 * sorteadas parecem vazias.
+	 */
+	private Stripe<T> sample() {
+		Stripe<T> best = null;
+		T bestTop = null;
+		for (int i = 0; i < SAMPLES; i++) {
+			Stripe<T> stripe = this.stripes[this.randomStripe()];
+			T top = stripe.top;
+			if (top != null && (bestTop == null || this.comparator.compare(top, bestTop) > 0)) {
+				best = stripe;
+				bestTop = top;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Remove a raiz de uma stripe cujo lock ja esta com a thread corrente.
+	 */
+	private T extract(Stripe<T> stripe) {
+		T resp = stripe.heap.extractRootElement();
+		if (resp != null) {
+			stripe.publish();
+		}
+		return resp;
+	}
+
+	private int randomStripe() {
+		return ThreadLocalRandom.current().nextInt(this.stripes.length);
+	}
+
+	private void lockAll() {
+		for (Stripe<T> stripe : this.stripes) {
+			stripe.lock.lock();
+		}
+	}
+
+	private void unlockAll() {
+		for (int i = this.stripes.length - 1; i >= 0; i--) {
+			this.stripes[i].lock.unlock();
+		}
+	}
+
+	/**
+	 * Uma sub-heap com o seu lock. top e size sao copias volateis da raiz e
+	 * do tamanho, escritas sob o lock, para que as amostras, size e isEmpty
+	 * leiam a stripe sem trava-la.
+	 */
+	private static final class Stripe<T extends Comparable<T>> {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final HeapImpl<T> heap;
+		private volatile T top;
+		private volatile int size;
+
+		private Stripe(Comparator<T> comparator) {
+			this.heap = new HeapImpl<T>(comparator);
+		}
+
+		/**
+		 * Atualiza top e size. Deve ser chamado com o lock, depois de cada
+		 * alteracao da heap.
+		 */
+		private void publish() {
+			this.top = this.heap.rootElement();
+			this.size = this.heap.size();
+		}
+	}
+}
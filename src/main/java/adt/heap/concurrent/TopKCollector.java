@@ -0,0 +1,121 @@
+package adt.heap.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import adt.heap.ComparatorMinHeap;
+import adt.heap.HeapImpl;
+
+/**
+ * Coleta os k maiores elementos (pelo compareTo) oferecidos por varias
+ * threads. Cada thread tem a sua propria HeapImpl limitada a k elementos, com
+ * ComparatorMinHeap para que a raiz seja o menor dos k guardados, entao as
+ * threads nao disputam uma estrutura compartilhada.
+ *
+ * O limiar compartilhado eh o maior entre os minimos das heaps locais ja
+ * cheias: uma heap local cheia ja tem k elementos maiores ou iguais a ele,
+ * entao nenhum candidato menor ou igual pode estar no resultado. A maioria
+ * dos candidatos eh descartada com uma leitura desse limiar, sem lock e sem
+ * tocar na heap local. O limiar so sobe, por compareAndSet.
+ *
+ * Cada heap local eh protegida pelo seu monitor, que so eh disputado quando
+ * result roda ao mesmo tempo que a thread dona; result pode ser chamado a
+ * qualquer momento e retorna uma fotografia de cada heap local. As heaps
+ * locais vivem enquanto o coletor existir.
+ */
+public class TopKCollector<T extends Comparable<T>> {
+
+	private final int k;
+	private final AtomicReference<T> threshold = new AtomicReference<T>();
+	private final Queue<HeapImpl<T>> locals = new ConcurrentLinkedQueue<HeapImpl<T>>();
+	private final ThreadLocal<HeapImpl<T>> local;
+
+	public TopKCollector(int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.k = k;
+		this.local = ThreadLocal.withInitial(() -> {
+			HeapImpl<T> heap = new HeapImpl<T>(new ComparatorMinHeap<T>(), Math.min(k, 1 << 16));
+			this.locals.add(heap);
+			return heap;
+		});
+	}
+
+	public int getK() {
+		return k;
+	}
+
+	/**
+	 * Oferece um candidato. Elementos null sao ignorados.
+	 */
+	public void add(T element) {
+		if (element != null) {
+			T limit = this.threshold.get();
+			if (limit == null || element.compareTo(limit) > 0) {
+				HeapImpl<T> heap = this.local.get();
+				T root = null;
+				synchronized (heap) {
+					if (heap.size() < this.k) {
+						heap.insert(element);
+					} else if (element.compareTo(heap.rootElement()) > 0) {
+						heap.replaceRootElement(element);
+					}
+					if (heap.size() == this.k) {
+						root = heap.rootElement();
+					}
+				}
+				if (root != null) {
+					this.raiseThreshold(root);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Limiar atual: candidatos menores ou iguais a ele sao descartados. Retorna
+	 * null enquanto nenhuma heap local estiver cheia.
+	 */
+	public T getThreshold() {
+		return this.threshold.get();
+	}
+
+	/**
+	 * Junta as heaps locais e retorna os k maiores elementos vistos ate agora
+	 * (ou todos, se foram menos de k), do maior para o menor.
+	 */
+	public List<T> result() {
+		HeapImpl<T> merged = new HeapImpl<T>(new ComparatorMinHeap<T>(), Math.min(this.k, 1 << 16));
+		for (HeapImpl<T> heap : this.locals) {
+			T[] elements;
+			synchronized (heap) {
+				elements = heap.toArray();
+			}
+			for (T element : elements) {
+				if (merged.size() < this.k) {
+					merged.insert(element);
+				} else if (element.compareTo(merged.rootElement()) > 0) {
+					merged.replaceRootElement(element);
+				}
+			}
+		}
+		List<T> resp = new ArrayList<T>(merged.size());
+		while (!merged.isEmpty()) {
+			resp.add(merged.extractRootElement());
+		}
+		Collections.reverse(resp);
+		return resp;
+	}
+
+	private void raiseThreshold(T candidate) {
+		T current = this.threshold.get();
+		while ((current == null || candidate.compareTo(current) > 0)
+				&& !this.threshold.compareAndSet(current, candidate)) {
+			current = this.threshold.get();
+		}
+	}
+}
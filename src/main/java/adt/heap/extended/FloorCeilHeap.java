@@ -43,4 +43,15 @@ public interface FloorCeilHeap extends Heap<Integer>{
 	 * @return
 	 */
 	public Integer ceil(Integer[] array, double numero);
+
+	/**
+	 * Calcula o floor e o ceil do mesmo numero. Retorna o array {floor, ceil},
+	 * em que cada posicao eh null quando o valor correspondente nao existe.
+	 * 
+	 * @param numero
+	 * @return
+	 */
+	public default Integer[] floorAndCeil(Integer[] array, double numero) {
+		return new Integer[] { this.floor(array, numero), this.ceil(array, numero) };
+	}
 }
@@ -14,6 +14,7 @@ public class FloorCeilHeapImpl extends HeapImpl<Integer> implements FloorCeilHea
 
 	@Override
 	public Integer floor(Integer[] array, double numero) {
+		this.clear();
 		for (Integer number: array) {
 			this.insert(number);
 		}
@@ -39,6 +40,7 @@ public class FloorCeilHeapImpl extends HeapImpl<Integer> implements FloorCeilHea
 
 	@Override
 	public Integer ceil(Integer[] array, double numero) {
+		this.clear();
 		for (Integer number: array) {
 			this.insert(number);
 		}
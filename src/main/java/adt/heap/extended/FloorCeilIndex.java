@@ -0,0 +1,144 @@
+package adt.heap.extended;
+
+import java.util.Arrays;
+
+/**
+ * Indice para consultas repetidas de floor e ceil sobre o mesmo conjunto de
+ * dados. Os numeros sao copiados uma unica vez para um int[] ordenado, em
+ * O(n log n), e cada consulta eh uma busca binaria O(log n), sem alocar nada
+ * alem do Integer retornado. Para muitas consultas de uma vez, floor(double[])
+ * e ceil(double[]) ordenam as consultas e respondem todas em uma unica
+ * varredura intercalada com os dados.
+ * 
+ * As respostas sao as mesmas da FloorCeilHeapImpl: o floor eh o maior numero
+ * menor ou igual ao consultado, o ceil eh o menor numero maior ou igual, e
+ * null quando nao existe. Elementos null do array sao ignorados.
+ */
+public class FloorCeilIndex {
+
+	private final int[] sorted;
+
+	public FloorCeilIndex(Integer[] array) {
+		int[] values = new int[array.length];
+		int size = 0;
+		for (Integer number : array) {
+			if (number != null) {
+				values[size++] = number;
+			}
+		}
+		this.sorted = size == values.length ? values : Arrays.copyOf(values, size);
+		Arrays.sort(this.sorted);
+	}
+
+	public FloorCeilIndex(int[] array) {
+		this.sorted = array.clone();
+		Arrays.sort(this.sorted);
+	}
+
+	public Integer floor(double numero) {
+		Integer floor = null;
+		int position = this.countLessOrEqual(numero);
+		if (position > 0) {
+			floor = this.sorted[position - 1];
+		}
+		return floor;
+	}
+
+	public Integer ceil(double numero) {
+		Integer ceil = null;
+		int position = this.countLess(numero);
+		if (position < this.sorted.length && !Double.isNaN(numero)) {
+			ceil = this.sorted[position];
+		}
+		return ceil;
+	}
+
+	/**
+	 * Calcula o floor de cada numero consultado. A posicao i do resultado eh
+	 * o floor de numeros[i].
+	 */
+	public Integer[] floor(double[] numeros) {
+		double[] queries = numeros.clone();
+		Arrays.sort(queries);
+		Integer[] answers = new Integer[queries.length];
+		int position = 0;
+		for (int i = 0; i < queries.length; i++) {
+			while (position < this.sorted.length && this.sorted[position] <= queries[i]) {
+				position++;
+			}
+			if (position > 0 && !Double.isNaN(queries[i])) {
+				answers[i] = this.sorted[position - 1];
+			}
+		}
+		return this.reorder(numeros, queries, answers);
+	}
+
+	/**
+	 * Calcula o ceil de cada numero consultado. A posicao i do resultado eh o
+	 * ceil de numeros[i].
+	 */
+	public Integer[] ceil(double[] numeros) {
+		double[] queries = numeros.clone();
+		Arrays.sort(queries);
+		Integer[] answers = new Integer[queries.length];
+		int position = 0;
+		for (int i = 0; i < queries.length; i++) {
+			while (position < this.sorted.length && this.sorted[position] < queries[i]) {
+				position++;
+			}
+			if (position < this.sorted.length && !Double.isNaN(queries[i])) {
+				answers[i] = this.sorted[position];
+			}
+		}
+		return this.reorder(numeros, queries, answers);
+	}
+
+	public int size() {
+		return this.sorted.length;
+	}
+
+	/**
+	 * Leva as respostas, calculadas na ordem das consultas ordenadas, de volta
+	 * para a ordem original. Consultas iguais tem a mesma resposta, entao
+	 * basta encontrar qualquer ocorrencia do valor.
+	 */
+	private Integer[] reorder(double[] numeros, double[] queries, Integer[] answers) {
+		Integer[] result = new Integer[numeros.length];
+		for (int i = 0; i < numeros.length; i++) {
+			result[i] = answers[Arrays.binarySearch(queries, numeros[i])];
+		}
+		return result;
+	}
+
+	/**
+	 * Numero de elementos menores ou iguais a numero, por busca binaria.
+	 */
+	private int countLessOrEqual(double numero) {
+		int low = 0;
+		int high = this.sorted.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.sorted[middle] <= numero) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private int countLess(double numero) {
+		int low = 0;
+		int high = this.sorted.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.sorted[middle] < numero) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+}
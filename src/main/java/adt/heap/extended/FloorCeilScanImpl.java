@@ -0,0 +1,117 @@
+package adt.heap.extended;
+
+import java.util.Comparator;
+
+import adt.heap.HeapImpl;
+
+/**
+ * Calcula floor e ceil com uma unica varredura do array, sem usar a heap:
+ * basta guardar o melhor candidato visto ate o momento. Nao ha insercoes nem
+ * extracoes, e nada eh alocado durante a varredura; para Integer[] o valor
+ * retornado eh o proprio objeto do array. floorAndCeil calcula os dois na
+ * mesma passada.
+ * 
+ * Para uso repetido sobre os mesmos dados, veja FloorCeilIndex.
+ */
+public class FloorCeilScanImpl extends HeapImpl<Integer> implements FloorCeilHeap {
+
+	private static final int FLOOR = 0;
+	private static final int CEIL = 1;
+
+	public FloorCeilScanImpl(Comparator<Integer> comparator) {
+		super(comparator);
+	}
+
+	@Override
+	public Integer floor(Integer[] array, double numero) {
+		Integer floor = null;
+		for (Integer number : array) {
+			if (number != null && number <= numero && (floor == null || number > floor)) {
+				floor = number;
+			}
+		}
+		return floor;
+	}
+
+	@Override
+	public Integer ceil(Integer[] array, double numero) {
+		Integer ceil = null;
+		for (Integer number : array) {
+			if (number != null && number >= numero && (ceil == null || number < ceil)) {
+				ceil = number;
+			}
+		}
+		return ceil;
+	}
+
+	@Override
+	public Integer[] floorAndCeil(Integer[] array, double numero) {
+		Integer floor = null;
+		Integer ceil = null;
+		for (Integer number : array) {
+			if (number != null) {
+				int value = number;
+				if (value <= numero && (floor == null || value > floor)) {
+					floor = number;
+				}
+				if (value >= numero && (ceil == null || value < ceil)) {
+					ceil = number;
+				}
+			}
+		}
+		Integer[] result = new Integer[2];
+		result[FLOOR] = floor;
+		result[CEIL] = ceil;
+		return result;
+	}
+
+	public Integer floor(int[] array, double numero) {
+		boolean found = false;
+		int floor = 0;
+		for (int value : array) {
+			if (value <= numero && (!found || value > floor)) {
+				floor = value;
+				found = true;
+			}
+		}
+		return found ? Integer.valueOf(floor) : null;
+	}
+
+	public Integer ceil(int[] array, double numero) {
+		boolean found = false;
+		int ceil = 0;
+		for (int value : array) {
+			if (value >= numero && (!found || value < ceil)) {
+				ceil = value;
+				found = true;
+			}
+		}
+		return found ? Integer.valueOf(ceil) : null;
+	}
+
+	/**
+	 * Versao de floorAndCeil para int[]. Retorna {floor, ceil}, com null nas
+	 * posicoes que nao existem.
+	 */
+	public Integer[] floorAndCeil(int[] array, double numero) {
+		boolean hasFloor = false;
+		boolean hasCeil = false;
+		int floor = 0;
+		int ceil = 0;
+		for (int value : array) {
+			if (value <= numero && (!hasFloor || value > floor)) {
+				floor = value;
+				hasFloor = true;
+			}
+			if (value >= numero && (!hasCeil || value < ceil)) {
+				ceil = value;
+				hasCeil = true;
+			}
+		}
+		Integer[] result = new Integer[2];
+		result[FLOOR] = hasFloor ? Integer.valueOf(floor) : null;
+		result[CEIL] = hasCeil ? Integer.valueOf(ceil) : null;
+		return result;
+	}
+
+}
@@ -0,0 +1,158 @@
+package adt.heap.external;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import adt.heap.ComparatorMinHeap;
+import adt.heap.HeapImpl;
+import adt.heap.KWayMergeIterator;
+
+/**
+ * Ordenacao externa para arquivos que nao cabem na memoria. O arquivo de
+ * entrada eh uma sequencia de registros no formato do RecordCodec; a saida
+ * tem o mesmo formato, em ordem crescente segundo o compareTo de T.
+ *
+ * A primeira fase gera runs ordenadas em disco por selecao por substituicao:
+ * uma HeapImpl min-heap com memoryRecords elementos eh usada com
+ * replaceRootElement, e cada elemento lido que ainda cabe na run corrente
+ * (nao eh menor que o ultimo escrito) entra nela. Com entrada aleatoria as
+ * runs tem em media 2 * memoryRecords elementos, e uma entrada ja ordenada
+ * gera uma unica run. A segunda fase intercala as runs com um
+ * KWayMergeIterator (uma min-heap sobre o elemento corrente de cada run); se
+ * houver mais de fanIn runs, a intercalacao eh feita em varias passadas.
+ *
+ * Toda a E/S passa por FileChannels com buffers diretos de bufferSize bytes.
+ * Os arquivos temporarios sao criados em tempDirectory e removidos ao final.
+ */
+public class ExternalHeapSort<T extends Comparable<T>> {
+
+	public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+	public static final int DEFAULT_FAN_IN = 64;
+
+	private final RecordCodec<T> codec;
+	private final int memoryRecords;
+	private final Path tempDirectory;
+	private final int bufferSize;
+	private final int fanIn;
+
+	public ExternalHeapSort(RecordCodec<T> codec, int memoryRecords, Path tempDirectory) {
+		this(codec, memoryRecords, tempDirectory, DEFAULT_BUFFER_SIZE, DEFAULT_FAN_IN);
+	}
+
+	public ExternalHeapSort(RecordCodec<T> codec, int memoryRecords, Path tempDirectory, int bufferSize,
+			int fanIn) {
+		if (memoryRecords < 1 || bufferSize < 1 || fanIn < 2) {
+			throw new IllegalArgumentException();
+		}
+		this.codec = codec;
+		this.memoryRecords = memoryRecords;
+		this.tempDirectory = tempDirectory;
+		this.bufferSize = bufferSize;
+		this.fanIn = fanIn;
+	}
+
+	public void sort(Path input, Path output) throws IOException {
+		List<Path> temporary = new ArrayList<Path>();
+		try {
+			List<Path> runs = this.createRuns(input);
+			temporary.addAll(runs);
+			while (runs.size() > this.fanIn) {
+				List<Path> merged = new ArrayList<Path>();
+				for (int from = 0; from < runs.size(); from += this.fanIn) {
+					Path run = this.createRunFile();
+					temporary.add(run);
+					merged.add(run);
+					this.merge(runs.subList(from, Math.min(from + this.fanIn, runs.size())), run);
+				}
+				for (Path run : runs) {
+					Files.delete(run);
+				}
+				runs = merged;
+			}
+			this.merge(runs, output);
+		} finally {
+			for (Path run : temporary) {
+				Files.deleteIfExists(run);
+			}
+		}
+	}
+
+	/**
+	 * Gera as runs ordenadas de input por selecao por substituicao e retorna
+	 * os arquivos temporarios, na ordem em que foram gerados. Cabe a quem chama
+	 * remove-los.
+	 */
+	public List<Path> createRuns(Path input) throws IOException {
+		List<Path> runs = new ArrayList<Path>();
+		HeapImpl<RunEntry<T>> heap = new HeapImpl<RunEntry<T>>(new ComparatorMinHeap<RunEntry<T>>(),
+				this.memoryRecords);
+		RecordWriter<T> writer = null;
+		try (RecordReader<T> reader = new RecordReader<T>(input, this.codec, this.bufferSize)) {
+			while (heap.size() < this.memoryRecords && reader.hasNext()) {
+				heap.insert(new RunEntry<T>(0, reader.next()));
+			}
+			int currentRun = -1;
+			while (!heap.isEmpty()) {
+				RunEntry<T> smallest = heap.rootElement();
+				if (smallest.run != currentRun) {
+					if (writer != null) {
+						writer.close();
+					}
+					Path run = this.createRunFile();
+					runs.add(run);
+					writer = new RecordWriter<T>(run, this.codec, this.bufferSize);
+					currentRun = smallest.run;
+				}
+				writer.write(smallest.value);
+				if (reader.hasNext()) {
+					T next = reader.next();
+					int run = next.compareTo(smallest.value) < 0 ? currentRun + 1 : currentRun;
+					heap.replaceRootElement(new RunEntry<T>(run, next));
+				} else {
+					heap.extractRootElement();
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			for (Path run : runs) {
+				Files.deleteIfExists(run);
+			}
+			throw e;
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+		return runs;
+	}
+
+	/**
+	 * Intercala as runs ordenadas em output em uma unica passada, com um
+	 * KWayMergeIterator sobre os leitores das runs. Empates saem na ordem das
+	 * runs na lista, entao a intercalacao eh estavel.
+	 */
+	public void merge(List<Path> runs, Path output) throws IOException {
+		List<RecordReader<T>> readers = new ArrayList<RecordReader<T>>();
+		try {
+			for (Path run : runs) {
+				readers.add(new RecordReader<T>(run, this.codec, this.bufferSize));
+			}
+			KWayMergeIterator<T> merged = new KWayMergeIterator<T>(new ComparatorMinHeap<T>(), readers);
+			try (RecordWriter<T> writer = new RecordWriter<T>(output, this.codec, this.bufferSize)) {
+				while (merged.hasNext()) {
+					writer.write(merged.next());
+				}
+			}
+		} finally {
+			for (RecordReader<T> reader : readers) {
+				reader.close();
+			}
+		}
+	}
+
+	private Path createRunFile() throws IOException {
+		return Files.createTempFile(this.tempDirectory, "run", ".bin");
+	}
+}
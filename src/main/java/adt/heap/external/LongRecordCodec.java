@@ -0,0 +1,24 @@
+package adt.heap.external;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Registros de 8 bytes com um long (na ordem de bytes do buffer).
+ */
+public class LongRecordCodec implements RecordCodec<Long> {
+
+	@Override
+	public int recordSize() {
+		return Long.BYTES;
+	}
+
+	@Override
+	public void write(Long value, ByteBuffer buffer) {
+		buffer.putLong(value);
+	}
+
+	@Override
+	public Long read(ByteBuffer buffer) {
+		return buffer.getLong();
+	}
+}
@@ -0,0 +1,25 @@
+package adt.heap.external;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converte elementos em registros binarios de tamanho fixo e vice-versa. E
+ * o formato dos arquivos lidos e escritos pela ExternalHeapSort: uma
+ * sequencia de registros de recordSize() bytes, sem cabecalho.
+ */
+public interface RecordCodec<T> {
+
+	int recordSize();
+
+	/**
+	 * Escreve value a partir da posicao atual de buffer, avancando-a
+	 * recordSize() bytes.
+	 */
+	void write(T value, ByteBuffer buffer);
+
+	/**
+	 * Le um elemento a partir da posicao atual de buffer, avancando-a
+	 * recordSize() bytes.
+	 */
+	T read(ByteBuffer buffer);
+}
@@ -0,0 +1,68 @@
+package adt.heap.external;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Le os registros de um arquivo em sequencia atraves de um buffer direto.
+ * Eh um Iterator para poder alimentar diretamente a intercalacao; erros de
+ * leitura aparecem como UncheckedIOException.
+ */
+class RecordReader<T> implements Iterator<T>, Closeable {
+
+	private final RecordCodec<T> codec;
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private boolean endOfFile;
+
+	RecordReader(Path file, RecordCodec<T> codec, int bufferSize) throws IOException {
+		this.codec = codec;
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+		this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, codec.recordSize()));
+		((Buffer) this.buffer).flip();
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (this.buffer.remaining() < this.codec.recordSize() && !this.endOfFile) {
+			this.fill();
+		}
+		return this.buffer.remaining() >= this.codec.recordSize();
+	}
+
+	@Override
+	public T next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return this.codec.read(this.buffer);
+	}
+
+	private void fill() {
+		this.buffer.compact();
+		try {
+			while (this.buffer.hasRemaining() && !this.endOfFile) {
+				if (this.channel.read(this.buffer) < 0) {
+					this.endOfFile = true;
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			((Buffer) this.buffer).flip();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+}
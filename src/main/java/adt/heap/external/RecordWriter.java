@@ -0,0 +1,51 @@
+package adt.heap.external;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escreve registros em um arquivo atraves de um buffer direto, fazendo uma
+ * chamada de write no canal a cada buffer cheio.
+ */
+class RecordWriter<T> implements Closeable {
+
+	private final RecordCodec<T> codec;
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+
+	RecordWriter(Path file, RecordCodec<T> codec, int bufferSize) throws IOException {
+		this.codec = codec;
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, codec.recordSize()));
+	}
+
+	void write(T value) throws IOException {
+		if (this.buffer.remaining() < this.codec.recordSize()) {
+			this.flush();
+		}
+		this.codec.write(value, this.buffer);
+	}
+
+	private void flush() throws IOException {
+		((Buffer) this.buffer).flip();
+		while (this.buffer.hasRemaining()) {
+			this.channel.write(this.buffer);
+		}
+		((Buffer) this.buffer).clear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			this.flush();
+		} finally {
+			this.channel.close();
+		}
+	}
+}
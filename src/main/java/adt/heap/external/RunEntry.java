@@ -0,0 +1,27 @@
+package adt.heap.external;
+
+/**
+ * Elemento da heap da selecao por substituicao: o valor e o numero da run em
+ * que ele vai ser escrito. A ordem eh primeiro pela run e depois pelo valor,
+ * entao os elementos que ja ficaram para a proxima run afundam na heap sem
+ * atrapalhar a run corrente.
+ */
+class RunEntry<T extends Comparable<T>> implements Comparable<RunEntry<T>> {
+
+	final int run;
+	final T value;
+
+	RunEntry(int run, T value) {
+		this.run = run;
+		this.value = value;
+	}
+
+	@Override
+	public int compareTo(RunEntry<T> o) {
+		int resp = Integer.compare(this.run, o.run);
+		if (resp == 0) {
+			resp = this.value.compareTo(o.value);
+		}
+		return resp;
+	}
+}
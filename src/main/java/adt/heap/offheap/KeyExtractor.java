@@ -0,0 +1,22 @@
+package adt.heap.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Extrai a chave de ordenacao de um registro de tamanho fixo. Substitui o
+ * Comparable na OffHeapHeap: o registro fica em buffer a partir de offset, e
+ * a implementacao deve usar apenas leituras absolutas (getLong(int) etc.),
+ * sem alterar a posicao do buffer.
+ */
+public interface KeyExtractor {
+
+	long key(ByteBuffer buffer, int offset);
+
+	/**
+	 * Chave formada pelo long armazenado em fieldOffset bytes a partir do
+	 * inicio do registro.
+	 */
+	static KeyExtractor longAt(final int fieldOffset) {
+		return (buffer, offset) -> buffer.getLong(offset + fieldOffset);
+	}
+}
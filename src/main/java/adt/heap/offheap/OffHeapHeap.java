@@ -0,0 +1,289 @@
+package adt.heap.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Heap de registros de tamanho fixo armazenados fora do heap da JVM, em
+ * ByteBuffers diretos ou em um arquivo mapeado em memoria (para conjuntos
+ * maiores que a RAM). Como o GC nao enxerga os registros, heaps com dezenas
+ * de GB nao aumentam as pausas de coleta.
+ *
+ * Os registros ficam em segmentos de tamanho fixo (um ByteBuffer cada, ja que
+ * um buffer eh indexado por int) e nunca atravessam a fronteira de um
+ * segmento. Os indices sao long. A ordem eh dada pela chave long retornada
+ * pelo KeyExtractor e por uma flag de max-heap/min-heap, como nas heaps de
+ * adt.heap.primitive.
+ *
+ * As operacoes seguem a semantica de adt.heap.Heap, mas copiando registros:
+ * insert le recordSize bytes a partir da posicao do buffer recebido, e
+ * extractRootElement/rootElement escrevem o registro no buffer de destino,
+ * retornando false (em vez de null) quando a heap esta vazia. Os sifts sao
+ * feitos com buraco: o registro que se move fica em um buffer auxiliar e a
+ * sua chave eh extraida uma unica vez.
+ *
+ * A memoria so eh devolvida quando os buffers sao coletados (o Java 8 nao tem
+ * como liberar um buffer direto ou um mapeamento explicitamente); close()
+ * descarta as referencias e fecha o arquivo. A classe nao eh thread-safe.
+ *
+ * position, limit e clear sao chamados via Buffer: compilado em um JDK 9+, o
+ * ByteBuffer ligaria aos overrides covariantes, ausentes no runtime do Java 8.
+ */
+public class OffHeapHeap implements Closeable {
+
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+
+	private final int recordSize;
+	private final int recordsPerSegment;
+	private final int segmentSize;
+	private final KeyExtractor keyExtractor;
+	private final boolean maxHeap;
+	private final FileChannel channel;
+
+	private ByteBuffer[] segments = new ByteBuffer[0];
+	private long size;
+
+	private final byte[] hole;
+	private final ByteBuffer holeBuffer;
+	private final byte[] transfer;
+
+	/**
+	 * Heap em ByteBuffers diretos, com segmentos de DEFAULT_SEGMENT_SIZE bytes.
+	 */
+	public OffHeapHeap(int recordSize, KeyExtractor keyExtractor, boolean maxHeap) {
+		this(recordSize, keyExtractor, maxHeap, DEFAULT_SEGMENT_SIZE);
+	}
+
+	public OffHeapHeap(int recordSize, KeyExtractor keyExtractor, boolean maxHeap, int segmentSize) {
+		this((FileChannel) null, recordSize, keyExtractor, maxHeap, segmentSize);
+	}
+
+	/**
+	 * Heap mapeada no arquivo file, que eh criado se nao existir. O conteudo
+	 * anterior do arquivo eh ignorado (a heap comeca vazia).
+	 */
+	public OffHeapHeap(Path file, int recordSize, KeyExtractor keyExtractor, boolean maxHeap) throws IOException {
+		this(file, recordSize, keyExtractor, maxHeap, DEFAULT_SEGMENT_SIZE);
+	}
+
+	public OffHeapHeap(Path file, int recordSize, KeyExtractor keyExtractor, boolean maxHeap, int segmentSize)
+			throws IOException {
+		this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE),
+				recordSize, keyExtractor, maxHeap, segmentSize);
+	}
+
+	private OffHeapHeap(FileChannel channel, int recordSize, KeyExtractor keyExtractor, boolean maxHeap,
+			int segmentSize) {
+		if (recordSize <= 0 || segmentSize < recordSize || keyExtractor == null) {
+			throw new IllegalArgumentException();
+		}
+		this.channel = channel;
+		this.recordSize = recordSize;
+		this.recordsPerSegment = segmentSize / recordSize;
+		this.segmentSize = this.recordsPerSegment * recordSize;
+		this.keyExtractor = keyExtractor;
+		this.maxHeap = maxHeap;
+		this.hole = new byte[recordSize];
+		this.holeBuffer = ByteBuffer.wrap(this.hole);
+		this.transfer = new byte[recordSize];
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public long size() {
+		return this.size;
+	}
+
+	public int getRecordSize() {
+		return recordSize;
+	}
+
+	public boolean isMaxHeap() {
+		return maxHeap;
+	}
+
+	/**
+	 * Insere o registro de recordSize bytes que comeca na posicao atual de
+	 * record. A posicao de record avanca recordSize bytes.
+	 */
+	public void insert(ByteBuffer record) {
+		if (record.remaining() < this.recordSize) {
+			throw new IllegalArgumentException();
+		}
+		this.ensureSegment(this.size);
+		record.get(this.hole);
+		this.size++;
+		this.siftUp(this.size - 1);
+	}
+
+	/**
+	 * Copia o registro da raiz para dest (a partir da sua posicao atual, que
+	 * avanca recordSize bytes) e o remove. Retorna false se a heap esta vazia.
+	 */
+	public boolean extractRootElement(ByteBuffer dest) {
+		boolean found = this.rootElement(dest);
+		if (found) {
+			this.size--;
+			if (this.size > 0) {
+				this.read(this.size, this.hole);
+				this.siftDown(0);
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Copia o registro da raiz para dest sem remove-lo. Retorna false se a heap
+	 * esta vazia.
+	 */
+	public boolean rootElement(ByteBuffer dest) {
+		boolean found = !this.isEmpty();
+		if (found) {
+			if (dest.remaining() < this.recordSize) {
+				throw new IllegalArgumentException();
+			}
+			ByteBuffer segment = this.segment(0);
+			((Buffer) segment).limit(this.recordSize);
+			((Buffer) segment).position(0);
+			dest.put(segment);
+			((Buffer) segment).clear();
+		}
+		return found;
+	}
+
+	/**
+	 * Chave do registro da raiz. Lanca NoSuchElementException se a heap esta
+	 * vazia.
+	 */
+	public long rootKey() {
+		if (this.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return this.keyAt(0);
+	}
+
+	/**
+	 * Esvazia a heap mantendo os segmentos ja alocados.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.segments = new ByteBuffer[0];
+		this.size = 0;
+		if (this.channel != null) {
+			this.channel.close();
+		}
+	}
+
+	private void siftUp(long index) {
+		long key = this.keyExtractor.key(this.holeBuffer, 0);
+		while (index > 0) {
+			long parent = (index - 1) >>> 1;
+			if (!this.above(key, this.keyAt(parent))) {
+				break;
+			}
+			this.move(parent, index);
+			index = parent;
+		}
+		this.write(index, this.hole);
+	}
+
+	private void siftDown(long index) {
+		long key = this.keyExtractor.key(this.holeBuffer, 0);
+		long half = this.size >>> 1;
+		while (index < half) {
+			long child = 2 * index + 1;
+			long childKey = this.keyAt(child);
+			if (child + 1 < this.size) {
+				long rightKey = this.keyAt(child + 1);
+				if (this.above(rightKey, childKey)) {
+					child++;
+					childKey = rightKey;
+				}
+			}
+			if (!this.above(childKey, key)) {
+				break;
+			}
+			this.move(child, index);
+			index = child;
+		}
+		this.write(index, this.hole);
+	}
+
+	private boolean above(long key, long other) {
+		return this.maxHeap ? key > other : key < other;
+	}
+
+	private long keyAt(long index) {
+		return this.keyExtractor.key(this.segment(index), this.offset(index));
+	}
+
+	private ByteBuffer segment(long index) {
+		return this.segments[(int) (index / this.recordsPerSegment)];
+	}
+
+	private int offset(long index) {
+		return (int) (index % this.recordsPerSegment) * this.recordSize;
+	}
+
+	private void read(long index, byte[] dest) {
+		ByteBuffer segment = this.segment(index);
+		((Buffer) segment).position(this.offset(index));
+		segment.get(dest);
+		((Buffer) segment).clear();
+	}
+
+	private void write(long index, byte[] src) {
+		ByteBuffer segment = this.segment(index);
+		((Buffer) segment).position(this.offset(index));
+		segment.put(src);
+		((Buffer) segment).clear();
+	}
+
+	/**
+	 * Copia o registro de from para to. Os dois podem estar no mesmo segmento
+	 * ou em segmentos diferentes, entao a copia passa pelo array auxiliar.
+	 */
+	private void move(long from, long to) {
+		this.read(from, this.transfer);
+		this.write(to, this.transfer);
+	}
+
+	private void ensureSegment(long index) {
+		int segment = (int) (index / this.recordsPerSegment);
+		if (segment >= this.segments.length) {
+			this.segments = Arrays.copyOf(this.segments, segment + 1);
+		}
+		if (this.segments[segment] == null) {
+			this.segments[segment] = this.allocate(segment);
+		}
+	}
+
+	private ByteBuffer allocate(int segment) {
+		ByteBuffer buffer;
+		if (this.channel == null) {
+			buffer = ByteBuffer.allocateDirect(this.segmentSize);
+		} else {
+			try {
+				buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, (long) segment * this.segmentSize,
+						this.segmentSize);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return buffer;
+	}
+}
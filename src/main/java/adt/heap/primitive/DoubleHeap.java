@@ -0,0 +1,156 @@
+package adt.heap.primitive;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Heap especializada para double, armazenada diretamente em um double[]. Oferece as
+ * mesmas operacoes de adt.heap.Heap, mas sem boxing e sem comparator: a
+ * ordenacao eh escolhida por uma flag no construtor (max-heap ou min-heap).
+ * Nenhuma operacao aloca memoria por elemento; o array so eh realocado quando
+ * a capacidade se esgota, e nesse caso cresce geometricamente.
+ *
+ * Como um double nao pode ser null, extractRootElement e rootElement lancam
+ * NoSuchElementException quando a heap esta vazia. As comparacoes usam
+ * Double.compare, a mesma ordem de Double.compareTo (NaN eh o maior valor e
+ * -0.0 eh menor que 0.0).
+ */
+public class DoubleHeap {
+
+	private static final int INITIAL_SIZE = 20;
+
+	private double[] heap;
+	private int index = -1;
+	private final boolean maxHeap;
+
+	public DoubleHeap(boolean maxHeap) {
+		this(maxHeap, INITIAL_SIZE);
+	}
+
+	public DoubleHeap(boolean maxHeap, int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.heap = new double[initialCapacity];
+		this.maxHeap = maxHeap;
+	}
+
+	public boolean isEmpty() {
+		return this.index == -1;
+	}
+
+	public int size() {
+		return this.index + 1;
+	}
+
+	public boolean isMaxHeap() {
+		return this.maxHeap;
+	}
+
+	public void insert(double element) {
+		if (this.index == this.heap.length - 1) {
+			this.heap = Arrays.copyOf(this.heap, Math.max(this.heap.length * 2, INITIAL_SIZE));
+		}
+		this.index += 1;
+		siftUp(this.heap, this.index, element, this.maxHeap);
+	}
+
+	public double extractRootElement() {
+		if (this.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		double root = this.heap[0];
+		double last = this.heap[this.index];
+		this.index -= 1;
+		if (this.index >= 0) {
+			siftDown(this.heap, 0, last, this.index + 1, this.maxHeap);
+		}
+		return root;
+	}
+
+	public double rootElement() {
+		if (this.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return this.heap[0];
+	}
+
+	/**
+	 * Constroi a heap sobre o proprio array recebido (sem copia). Elementos que
+	 * ja estavam na heap sao descartados.
+	 */
+	public void buildHeap(double[] array) {
+		this.heap = array;
+		this.index = array.length - 1;
+		heapify(array, array.length, this.maxHeap);
+	}
+
+	/**
+	 * Ordena o array em ordem crescente, in-place. Independente da flag da
+	 * heap, a ordenacao usa uma max-heap, de forma que nenhuma inversao final
+	 * eh necessaria. Ao final a heap fica vazia.
+	 */
+	public double[] heapsort(double[] array) {
+		heapify(array, array.length, true);
+		for (int last = array.length - 1; last > 0; last--) {
+			double root = array[0];
+			siftDown(array, 0, array[last], last, true);
+			array[last] = root;
+		}
+		this.heap = array;
+		this.index = -1;
+		return array;
+	}
+
+	/**
+	 * Retorna uma copia dos elementos da heap, na ordem do array interno.
+	 */
+	public double[] toArray() {
+		return Arrays.copyOf(this.heap, this.size());
+	}
+
+	private static void heapify(double[] array, int size, boolean maxHeap) {
+		for (int i = (size >>> 1) - 1; i >= 0; i--) {
+			siftDown(array, i, array[i], size, maxHeap);
+		}
+	}
+
+	/**
+	 * Sobe o elemento a partir da posicao i movendo os pais para baixo, em vez
+	 * de fazer trocas, e o escreve uma unica vez na posicao final.
+	 */
+	private static void siftUp(double[] array, int i, double element, boolean maxHeap) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			double value = array[parent];
+			int cmp = Double.compare(value, element);
+			if (maxHeap ? cmp >= 0 : cmp <= 0) {
+				break;
+			}
+			array[i] = value;
+			i = parent;
+		}
+		array[i] = element;
+	}
+
+	private static void siftDown(double[] array, int i, double element, int size, boolean maxHeap) {
+		int half = size >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			int right = child + 1;
+			if (right < size && (maxHeap ? Double.compare(array[right], array[child]) > 0
+					: Double.compare(array[right], array[child]) < 0)) {
+				child = right;
+			}
+			double value = array[child];
+			int cmp = Double.compare(element, value);
+			if (maxHeap ? cmp >= 0 : cmp <= 0) {
+				break;
+			}
+			array[i] = value;
+			i = child;
+		}
+		array[i] = element;
+	}
+
+}
@@ -0,0 +1,159 @@
+package adt.heap.primitive;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Radix heap: min-heap monotona para chaves long nao negativas, sem
+ * comparacoes entre elementos. Serve para cargas em que as chaves extraidas
+ * nunca diminuem (Dijkstra, filas de timers): toda chave inserida deve ser
+ * maior ou igual a ultima extraida.
+ *
+ * As chaves ficam em 65 baldes conforme o bit mais alto em que diferem da
+ * ultima chave extraida (last): o balde 0 guarda as iguais a last e o balde i
+ * as que diferem dele pela primeira vez no bit i - 1. Quando o balde 0
+ * esvazia, o menor valor do primeiro balde nao vazio vira o novo last e as
+ * chaves desse balde sao redistribuidas em baldes menores. Cada chave so
+ * desce de balde, entao o custo amortizado eh O(log C), com C a maior chave.
+ * Com o balde 0 vazio, o menor valor fica guardado depois da primeira
+ * consulta (e eh atualizado por insert), entao rootElement repetido eh O(1)
+ * e a redistribuicao seguinte nao precisa procura-lo de novo.
+ *
+ * Como na LongHeap, extractRootElement e rootElement lancam
+ * NoSuchElementException quando a heap esta vazia. Chaves negativas ou
+ * menores que a ultima extraida sao rejeitadas com IllegalArgumentException.
+ */
+public class RadixHeap {
+
+	private static final int BUCKETS = 65;
+	private static final int INITIAL_BUCKET_SIZE = 4;
+
+	private final long[][] buckets = new long[BUCKETS][];
+	private final int[] counts = new int[BUCKETS];
+	private long last;
+	private int size;
+	private long minimum;
+	private boolean minimumKnown;
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Ultima chave extraida (0 antes da primeira extracao). Eh o menor valor
+	 * aceito por insert.
+	 */
+	public long getLast() {
+		return this.last;
+	}
+
+	public void insert(long key) {
+		if (key < this.last) {
+			throw new IllegalArgumentException();
+		}
+		int bucket = this.bucket(key);
+		this.add(bucket, key);
+		this.size++;
+		if (bucket > 0 && this.minimumKnown && key < this.minimum) {
+			this.minimum = key;
+		}
+	}
+
+	public long extractRootElement() {
+		if (this.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		if (this.counts[0] == 0) {
+			this.redistribute();
+		}
+		this.counts[0]--;
+		this.size--;
+		return this.last;
+	}
+
+	/**
+	 * Retorna a menor chave sem remove-la. Nao redistribui os baldes, entao
+	 * insert continua aceitando chaves entre a ultima extraida e esta.
+	 */
+	public long rootElement() {
+		if (this.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		long resp = this.last;
+		if (this.counts[0] == 0) {
+			if (!this.minimumKnown) {
+				int bucket = this.firstNonEmptyBucket();
+				this.minimum = min(this.buckets[bucket], this.counts[bucket]);
+				this.minimumKnown = true;
+			}
+			resp = this.minimum;
+		}
+		return resp;
+	}
+
+	/**
+	 * Esvazia a heap e volta a aceitar qualquer chave nao negativa.
+	 */
+	public void clear() {
+		Arrays.fill(this.counts, 0);
+		this.size = 0;
+		this.last = 0;
+		this.minimumKnown = false;
+	}
+
+	/**
+	 * Move para o balde 0 as chaves iguais ao menor valor do primeiro balde
+	 * nao vazio, que vira o novo last, e espalha as demais em baldes menores.
+	 */
+	private void redistribute() {
+		int bucket = this.firstNonEmptyBucket();
+		long[] keys = this.buckets[bucket];
+		int count = this.counts[bucket];
+		this.last = this.minimumKnown ? this.minimum : min(keys, count);
+		this.minimumKnown = false;
+		this.counts[bucket] = 0;
+		for (int i = 0; i < count; i++) {
+			this.add(this.bucket(keys[i]), keys[i]);
+		}
+	}
+
+	private int firstNonEmptyBucket() {
+		int bucket = 1;
+		while (this.counts[bucket] == 0) {
+			bucket++;
+		}
+		return bucket;
+	}
+
+	private int bucket(long key) {
+		return 64 - Long.numberOfLeadingZeros(key ^ this.last);
+	}
+
+	private void add(int bucket, long key) {
+		long[] keys = this.buckets[bucket];
+		int count = this.counts[bucket];
+		if (keys == null) {
+			keys = new long[INITIAL_BUCKET_SIZE];
+			this.buckets[bucket] = keys;
+		} else if (count == keys.length) {
+			keys = Arrays.copyOf(keys, count * 2);
+			this.buckets[bucket] = keys;
+		}
+		keys[count] = key;
+		this.counts[bucket] = count + 1;
+	}
+
+	private static long min(long[] keys, int count) {
+		long resp = keys[0];
+		for (int i = 1; i < count; i++) {
+			if (keys[i] < resp) {
+				resp = keys[i];
+			}
+		}
+		return resp;
+	}
+}
@@ -0,0 +1,93 @@
+package orderStatistic;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+
+import adt.heap.ComparatorMaxHeap;
+import adt.heap.ComparatorMinHeap;
+import adt.heap.HeapImpl;
+
+/**
+ * Calcula estatisticas de ordem mantendo em memoria apenas k elementos. Para
+ * o k-esimo menor elemento eh usada uma max-heap limitada a k elementos: cada
+ * elemento menor que a raiz substitui a raiz, e ao final a raiz eh a
+ * resposta. Para o k-esimo maior elemento o mesmo eh feito com uma min-heap.
+ * O custo eh O(n log k) em tempo e O(k) em memoria.
+ * 
+ * Os elementos podem vir de um Iterator (por exemplo, stream.iterator()), de
+ * forma que a entrada nao precisa estar inteira em um array. Elementos null
+ * sao ignorados. Caso a estatistica de ordem procurada nao exista, os metodos
+ * retornam null.
+ */
+public class OrderStatisticsBoundedHeapImpl<T extends Comparable<T>> implements OrderStatistics<T> {
+
+	/**
+	 * Limite da capacidade inicial da heap quando o tamanho da entrada eh
+	 * desconhecido, para que um k grande nao aloque memoria que talvez nao
+	 * seja usada.
+	 */
+	private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+	@Override
+	public T getOrderStatistics(T[] array, int k) {
+		T orderStatistics = null;
+		if (array != null && k > 0 && k <= array.length) {
+			orderStatistics = this.select(Arrays.asList(array).iterator(), k, new ComparatorMaxHeap<T>());
+		}
+		return orderStatistics;
+	}
+
+	/**
+	 * Retorna o k-esimo menor elemento produzido pelo iterator, consumindo-o
+	 * por completo.
+	 */
+	public T getOrderStatistics(Iterator<? extends T> elements, int k) {
+		return this.select(elements, k, new ComparatorMaxHeap<T>());
+	}
+
+	/**
+	 * Retorna o k-esimo maior elemento do array (k = 1 eh o maximo).
+	 */
+	public T getReverseOrderStatistics(T[] array, int k) {
+		T orderStatistics = null;
+		if (array != null && k > 0 && k <= array.length) {
+			orderStatistics = this.select(Arrays.asList(array).iterator(), k, new ComparatorMinHeap<T>());
+		}
+		return orderStatistics;
+	}
+
+	/**
+	 * Retorna o k-esimo maior elemento produzido pelo iterator, consumindo-o
+	 * por completo.
+	 */
+	public T getReverseOrderStatistics(Iterator<? extends T> elements, int k) {
+		return this.select(elements, k, new ComparatorMinHeap<T>());
+	}
+
+	/**
+	 * Mantem os k elementos que o comparator considera menores. A raiz da
+	 * heap eh o maior deles, ou seja, o k-esimo.
+	 */
+	private T select(Iterator<? extends T> elements, int k, Comparator<T> comparator) {
+		T orderStatistics = null;
+		if (elements != null && k > 0) {
+			HeapImpl<T> heap = new HeapImpl<T>(comparator, Math.min(k, MAX_INITIAL_CAPACITY));
+			while (elements.hasNext()) {
+				T element = elements.next();
+				if (element != null) {
+					if (heap.size() < k) {
+						heap.insert(element);
+					} else if (comparator.compare(element, heap.rootElement()) < 0) {
+						heap.replaceRootElement(element);
+					}
+				}
+			}
+			if (heap.size() == k) {
+				orderStatistics = heap.rootElement();
+			}
+		}
+		return orderStatistics;
+	}
+
+}
@@ -0,0 +1,131 @@
+package orderStatistic;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Calcula estatisticas de ordem por selecao (introselect) em vez de heap:
+ * O(n) esperado, com O(n) garantido no pior caso pelo fallback de mediana das
+ * medianas, e sem a PriorityQueue de n elementos da OrderStatisticsHeapImpl.
+ * 
+ * A selecao reorganiza os elementos do array em que trabalha. Por padrao ela
+ * eh feita em uma copia, preservando o array do chamador. Com inPlace = true
+ * o proprio array eh reorganizado (nenhuma copia eh feita), e o metodo que
+ * recebe um scratch permite reaproveitar o mesmo buffer entre consultas.
+ * 
+ * Caso a estatistica de ordem procurada nao exista no array, os metodos
+ * retornam null.
+ */
+public class OrderStatisticsQuickSelectImpl<T extends Comparable<T>> implements OrderStatistics<T> {
+
+	private final boolean inPlace;
+
+	public OrderStatisticsQuickSelectImpl() {
+		this(false);
+	}
+
+	public OrderStatisticsQuickSelectImpl(boolean inPlace) {
+		this.inPlace = inPlace;
+	}
+
+	@Override
+	public T getOrderStatistics(T[] array, int k) {
+		T orderStatistics = null;
+		if (array != null && k > 0 && k <= array.length) {
+			T[] work = this.inPlace ? array : array.clone();
+			Selection.select(work, 0, work.length, k - 1);
+			orderStatistics = work[k - 1];
+		}
+		return orderStatistics;
+	}
+
+	/**
+	 * Calcula a k-esima estatistica de ordem copiando o array para o inicio de
+	 * scratch e selecionando la. O array original nao eh alterado e nenhuma
+	 * memoria eh alocada por elemento.
+	 * 
+	 * @param scratch
+	 *            buffer de trabalho, com tamanho pelo menos array.length
+	 */
+	public T getOrderStatistics(T[] array, int k, T[] scratch) {
+		T orderStatistics = null;
+		if (array != null && k > 0 && k <= array.length) {
+			if (scratch == null || scratch.length < array.length) {
+				throw new IllegalArgumentException();
+			}
+			System.arraycopy(array, 0, scratch, 0, array.length);
+			Selection.select(scratch, 0, array.length, k - 1);
+			orderStatistics = scratch[k - 1];
+		}
+		return orderStatistics;
+	}
+
+	/**
+	 * Calcula varias estatisticas de ordem do mesmo array de uma so vez, por
+	 * exemplo p50, p90, p99 e p99.9. O resultado tem uma posicao para cada k
+	 * pedido, na mesma ordem de ks; posicoes cujo k nao existe no array ficam
+	 * null.
+	 */
+	public T[] getOrderStatistics(T[] array, int[] ks) {
+		T[] work = null;
+		if (array != null) {
+			work = this.inPlace ? array : array.clone();
+		}
+		return this.multiSelect(array, work, ks);
+	}
+
+	/**
+	 * Igual a getOrderStatistics(array, ks), mas trabalhando no inicio de
+	 * scratch em vez de em uma copia do array.
+	 */
+	public T[] getOrderStatistics(T[] array, int[] ks, T[] scratch) {
+		T[] work = null;
+		if (array != null) {
+			if (scratch == null || scratch.length < array.length) {
+				throw new IllegalArgumentException();
+			}
+			System.arraycopy(array, 0, scratch, 0, array.length);
+			work = scratch;
+		}
+		return this.multiSelect(array, work, ks);
+	}
+
+	@SuppressWarnings("unchecked")
+	private T[] multiSelect(T[] array, T[] work, int[] ks) {
+		if (ks == null) {
+			throw new IllegalArgumentException();
+		}
+		T[] result;
+		if (array == null) {
+			result = (T[]) new Comparable[ks.length];
+		} else {
+			result = (T[]) Array.newInstance(array.getClass().getComponentType(), ks.length);
+			int[] ranks = new int[ks.length];
+			int count = 0;
+			for (int k : ks) {
+				if (k > 0 && k <= array.length) {
+					ranks[count++] = k - 1;
+				}
+			}
+			Arrays.sort(ranks, 0, count);
+			int distinct = 0;
+			for (int i = 0; i < count; i++) {
+				if (distinct == 0 || ranks[distinct - 1] != ranks[i]) {
+					ranks[distinct++] = ranks[i];
+				}
+			}
+			Selection.multiSelect(work, 0, array.length, ranks, 0, distinct);
+			for (int i = 0; i < ks.length; i++) {
+				if (ks[i] > 0 && ks[i] <= array.length) {
+					result[i] = work[ks[i] - 1];
+				}
+			}
+		}
+		return result;
+	}
+
+	public boolean isInPlace() {
+		return inPlace;
+	}
+
+}
@@ -0,0 +1,207 @@
+package orderStatistic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import adt.heap.ComparatorMaxHeap;
+import adt.heap.ComparatorMinHeap;
+import adt.heap.HeapImpl;
+
+/**
+ * Acompanha um percentil de um fluxo de elementos usando duas heaps: uma
+ * max-heap com a parte de baixo (os ceil(p * n) menores elementos) e uma
+ * min-heap com o restante. O percentil eh a raiz da max-heap, entao add eh
+ * O(log n) e getPercentile eh O(1). Com p = 0.5 o valor eh a mediana (a
+ * mediana inferior quando n eh par).
+ * 
+ * Tambem eh possivel remover elementos ja adicionados, o que permite janelas
+ * deslizantes (veja SlidingWindowPercentile). A remocao eh preguicosa: o
+ * elemento so eh marcado e sai fisicamente da heap quando chega ao topo. Para
+ * isso compareTo deve ser consistente com equals e hashCode. Quando os
+ * elementos marcados passam a ser maioria, as heaps sao reconstruidas sem
+ * eles, o que mantem a memoria proporcional ao numero de elementos vivos.
+ */
+public class RunningPercentile<T extends Comparable<T>> {
+
+	/**
+	 * Tolerancia relativa no calculo de ceil(p * n), para que erros de
+	 * arredondamento (0.9 * 10 = 9.000000000000002) nao aumentem o rank.
+	 */
+	private static final double RANK_TOLERANCE = 1e-12;
+
+	private static final int MIN_COMPACTION_SIZE = 64;
+
+	private final double percentile;
+	private final HeapImpl<T> lower;
+	private final HeapImpl<T> upper;
+	private final Map<T, Integer> delayed;
+	private int lowerSize;
+	private int upperSize;
+	private int delayedCount;
+
+	/**
+	 * Cria um acompanhador da mediana.
+	 */
+	public RunningPercentile() {
+		this(0.5);
+	}
+
+	/**
+	 * @param percentile
+	 *            o percentil acompanhado, entre 0 e 1 (0.99 para p99). O
+	 *            valor retornado eh o elemento de rank max(1, ceil(p * n)).
+	 */
+	public RunningPercentile(double percentile) {
+		if (!(percentile >= 0 && percentile <= 1)) {
+			throw new IllegalArgumentException();
+		}
+		this.percentile = percentile;
+		this.lower = new HeapImpl<T>(new ComparatorMaxHeap<T>());
+		this.upper = new HeapImpl<T>(new ComparatorMinHeap<T>());
+		this.delayed = new HashMap<T, Integer>();
+	}
+
+	/**
+	 * Adiciona um elemento. Elementos null sao ignorados.
+	 */
+	public void add(T element) {
+		if (element != null) {
+			if (this.lowerSize == 0 || element.compareTo(this.lower.rootElement()) <= 0) {
+				this.lower.insert(element);
+				this.lowerSize++;
+			} else {
+				this.upper.insert(element);
+				this.upperSize++;
+			}
+			this.rebalance();
+		}
+	}
+
+	/**
+	 * Remove um elemento adicionado anteriormente. O elemento deve estar
+	 * presente; remover um elemento que nao foi adicionado corrompe o estado.
+	 */
+	public void remove(T element) {
+		if (element == null || this.isEmpty()) {
+			throw new IllegalArgumentException();
+		}
+		Integer count = this.delayed.get(element);
+		this.delayed.put(element, count == null ? 1 : count + 1);
+		this.delayedCount++;
+		if (this.lowerSize > 0 && element.compareTo(this.lower.rootElement()) <= 0) {
+			this.lowerSize--;
+			this.prune(this.lower);
+		} else {
+			this.upperSize--;
+			this.prune(this.upper);
+		}
+		if (this.delayedCount > MIN_COMPACTION_SIZE && this.delayedCount > this.size()) {
+			this.compact();
+		}
+		this.rebalance();
+	}
+
+	/**
+	 * Retorna o elemento do percentil acompanhado, ou null se nao ha
+	 * elementos.
+	 */
+	public T getPercentile() {
+		T result = null;
+		if (this.lowerSize > 0) {
+			result = this.lower.rootElement();
+		}
+		return result;
+	}
+
+	public double getPercentileRank() {
+		return percentile;
+	}
+
+	public int size() {
+		return this.lowerSize + this.upperSize;
+	}
+
+	public boolean isEmpty() {
+		return this.size() == 0;
+	}
+
+	private int targetLowerSize() {
+		int size = this.size();
+		int target = 0;
+		if (size > 0) {
+			target = (int) Math.ceil(this.percentile * size * (1 - RANK_TOLERANCE));
+			target = Math.max(1, Math.min(target, size));
+		}
+		return target;
+	}
+
+	/**
+	 * Move raizes entre as heaps ate a de baixo ter o tamanho do rank. As
+	 * raizes estao sempre vivas, porque toda operacao poda os topos marcados.
+	 */
+	private void rebalance() {
+		int target = this.targetLowerSize();
+		while (this.lowerSize > target) {
+			this.upper.insert(this.lower.extractRootElement());
+			this.lowerSize--;
+			this.upperSize++;
+			this.prune(this.lower);
+		}
+		while (this.lowerSize < target) {
+			this.lower.insert(this.upper.extractRootElement());
+			this.upperSize--;
+			this.lowerSize++;
+			this.prune(this.upper);
+		}
+	}
+
+	private void prune(HeapImpl<T> heap) {
+		while (!heap.isEmpty()) {
+			T root = heap.rootElement();
+			Integer count = this.delayed.get(root);
+			if (count == null) {
+				break;
+			}
+			if (count == 1) {
+				this.delayed.remove(root);
+			} else {
+				this.delayed.put(root, count - 1);
+			}
+			this.delayedCount--;
+			heap.extractRootElement();
+		}
+	}
+
+	/**
+	 * Reconstroi as duas heaps sem os elementos marcados, em O(n). Como
+	 * elementos iguais sao intercambiaveis, a copia descartada pode vir de
+	 * qualquer uma das heaps; por isso os tamanhos sao recontados e as heaps
+	 * rebalanceadas em seguida.
+	 */
+	private void compact() {
+		this.rebuildWithoutDelayed(this.lower);
+		this.rebuildWithoutDelayed(this.upper);
+		this.delayed.clear();
+		this.delayedCount = 0;
+		this.lowerSize = this.lower.size();
+		this.upperSize = this.upper.size();
+	}
+
+	private void rebuildWithoutDelayed(HeapImpl<T> heap) {
+		T[] elements = heap.toArray();
+		int kept = 0;
+		for (T element : elements) {
+			Integer count = this.delayed.get(element);
+			if (count == null) {
+				elements[kept++] = element;
+			} else if (count == 1) {
+				this.delayed.remove(element);
+			} else {
+				this.delayed.put(element, count - 1);
+			}
+		}
+		heap.buildHeap(Arrays.copyOf(elements, kept));
+	}
+
+}
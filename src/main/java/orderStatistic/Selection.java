@@ -0,0 +1,165 @@
+package orderStatistic;
+
+import util.Util;
+
+/**
+ * Algoritmos de selecao usados pelas implementacoes de OrderStatistics. Todos
+ * trabalham sobre um intervalo [from, to) do array, usando compareTo, e o
+ * reorganizam de forma que o elemento de cada rank pedido fique na sua
+ * posicao final: tudo a esquerda eh menor ou igual e tudo a direita eh maior
+ * ou igual a ele.
+ */
+final class Selection {
+
+	/**
+	 * Abaixo desse tamanho o intervalo eh simplesmente ordenado por insercao.
+	 */
+	private static final int INSERTION_THRESHOLD = 16;
+
+	private static final int GROUP_SIZE = 5;
+
+	private Selection() {
+	}
+
+	/**
+	 * Introselect: quickselect com pivo mediana-de-tres, tempo esperado
+	 * linear. Se o numero de particoes passar de 2*log2(n), o que so acontece
+	 * com entradas adversarias, o pivo passa a ser escolhido por mediana das
+	 * medianas, garantindo O(n) no pior caso.
+	 */
+	static <T extends Comparable<T>> void select(T[] array, int from, int to, int rank) {
+		int depthLimit = 2 * log2(to - from);
+		while (to - from > INSERTION_THRESHOLD) {
+			T pivot;
+			if (depthLimit > 0) {
+				depthLimit--;
+				pivot = medianOfThree(array, from, to);
+			} else {
+				pivot = medianOfMedians(array, from, to);
+			}
+			int[] bounds = partition(array, from, to, pivot);
+			if (rank < bounds[0]) {
+				to = bounds[0];
+			} else if (rank >= bounds[1]) {
+				from = bounds[1];
+			} else {
+				return;
+			}
+		}
+		insertionSort(array, from, to);
+	}
+
+	/**
+	 * Seleciona varios ranks em uma unica passada. ranks[rankFrom, rankTo)
+	 * deve estar em ordem crescente e sem repeticoes. Depois de cada particao
+	 * a recursao so desce nos lados que ainda contem algum rank pedido, entao
+	 * m ranks custam O(n log m) em vez de m selecoes independentes.
+	 */
+	static <T extends Comparable<T>> void multiSelect(T[] array, int from, int to, int[] ranks, int rankFrom,
+			int rankTo) {
+		multiSelect(array, from, to, ranks, rankFrom, rankTo, 2 * log2(to - from));
+	}
+
+	private static <T extends Comparable<T>> void multiSelect(T[] array, int from, int to, int[] ranks,
+			int rankFrom, int rankTo, int depthLimit) {
+		while (rankFrom < rankTo) {
+			if (rankTo - rankFrom == 1) {
+				select(array, from, to, ranks[rankFrom]);
+				return;
+			}
+			if (to - from <= INSERTION_THRESHOLD) {
+				insertionSort(array, from, to);
+				return;
+			}
+			T pivot;
+			if (depthLimit > 0) {
+				depthLimit--;
+				pivot = medianOfThree(array, from, to);
+			} else {
+				pivot = medianOfMedians(array, from, to);
+			}
+			int[] bounds = partition(array, from, to, pivot);
+			int leftEnd = rankFrom;
+			while (leftEnd < rankTo && ranks[leftEnd] < bounds[0]) {
+				leftEnd++;
+			}
+			int rightStart = leftEnd;
+			while (rightStart < rankTo && ranks[rightStart] < bounds[1]) {
+				rightStart++;
+			}
+			multiSelect(array, from, bounds[0], ranks, rankFrom, leftEnd, depthLimit);
+			from = bounds[1];
+			rankFrom = rightStart;
+		}
+	}
+
+	/**
+	 * Particao em tres vias (Dijkstra) de [from, to) em torno do pivo.
+	 * Retorna {lt, gt}: [from, lt) eh menor, [lt, gt) eh igual e [gt, to) eh
+	 * maior que o pivo. Agrupar os iguais faz entradas com muitas repeticoes
+	 * terminarem em poucas particoes.
+	 */
+	static <T extends Comparable<T>> int[] partition(T[] array, int from, int to, T pivot) {
+		int lt = from;
+		int i = from;
+		int gt = to;
+		while (i < gt) {
+			int cmp = array[i].compareTo(pivot);
+			if (cmp < 0) {
+				Util.swap(array, lt++, i++);
+			} else if (cmp > 0) {
+				Util.swap(array, i, --gt);
+			} else {
+				i++;
+			}
+		}
+		return new int[] { lt, gt };
+	}
+
+	static int log2(int n) {
+		return 31 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+	}
+
+	static <T extends Comparable<T>> void insertionSort(T[] array, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			T element = array[i];
+			int j = i - 1;
+			while (j >= from && array[j].compareTo(element) > 0) {
+				array[j + 1] = array[j];
+				j--;
+			}
+			array[j + 1] = element;
+		}
+	}
+
+	private static <T extends Comparable<T>> T medianOfThree(T[] array, int from, int to) {
+		T a = array[from];
+		T b = array[from + ((to - from) >>> 1)];
+		T c = array[to - 1];
+		if (a.compareTo(b) > 0) {
+			T aux = a;
+			a = b;
+			b = aux;
+		}
+		if (b.compareTo(c) > 0) {
+			b = a.compareTo(c) > 0 ? a : c;
+		}
+		return b;
+	}
+
+	/**
+	 * Mediana das medianas (BFPRT): ordena grupos de cinco, junta as medianas
+	 * no inicio do intervalo e seleciona a mediana delas recursivamente.
+	 */
+	private static <T extends Comparable<T>> T medianOfMedians(T[] array, int from, int to) {
+		int medians = from;
+		for (int group = from; group < to; group += GROUP_SIZE) {
+			int groupEnd = Math.min(group + GROUP_SIZE, to);
+			insertionSort(array, group, groupEnd);
+			Util.swap(array, medians++, group + ((groupEnd - group) >>> 1));
+		}
+		int middle = from + ((medians - from) >>> 1);
+		select(array, from, medians, middle);
+		return array[middle];
+	}
+}
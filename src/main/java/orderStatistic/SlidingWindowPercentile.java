@@ -0,0 +1,51 @@
+package orderStatistic;
+
+import java.util.ArrayDeque;
+
+/**
+ * Percentil dos ultimos windowSize elementos de um fluxo. Cada add que faz a
+ * janela passar do tamanho remove o elemento mais antigo do RunningPercentile
+ * interno, entao add custa O(log n) amortizado e getPercentile eh O(1).
+ */
+public class SlidingWindowPercentile<T extends Comparable<T>> {
+
+	private final int windowSize;
+	private final ArrayDeque<T> window;
+	private final RunningPercentile<T> percentile;
+
+	public SlidingWindowPercentile(int windowSize, double percentile) {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.windowSize = windowSize;
+		this.window = new ArrayDeque<T>(windowSize + 1);
+		this.percentile = new RunningPercentile<T>(percentile);
+	}
+
+	/**
+	 * Adiciona um elemento, descartando o mais antigo se a janela estiver
+	 * cheia. Elementos null sao ignorados.
+	 */
+	public void add(T element) {
+		if (element != null) {
+			this.window.addLast(element);
+			this.percentile.add(element);
+			if (this.window.size() > this.windowSize) {
+				this.percentile.remove(this.window.removeFirst());
+			}
+		}
+	}
+
+	public T getPercentile() {
+		return this.percentile.getPercentile();
+	}
+
+	public int size() {
+		return this.window.size();
+	}
+
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+}
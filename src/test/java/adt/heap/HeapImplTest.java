@@ -0,0 +1,321 @@
+package adt.heap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.StreamSupport;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class HeapImplTest {
+
+	HeapImpl<Integer> heap;
+
+	@Before
+	public void setUp() {
+		heap = new HeapImpl<Integer>(new ComparatorMaxHeap<Integer>());
+	}
+
+	@Test
+	public void testInitialCapacity() {
+		heap = new HeapImpl<Integer>(new ComparatorMaxHeap<Integer>(), 1000);
+		for (int i = 0; i < 1000; i++) {
+			heap.insert(i);
+		}
+
+		assertEquals(1000, heap.capacity());
+		assertEquals(new Integer(999), heap.rootElement());
+	}
+
+	@Test
+	public void testGeometricGrowth() {
+		int resizes = 0;
+		int capacity = heap.capacity();
+		for (int i = 0; i < 100000; i++) {
+			heap.insert(i);
+			if (heap.capacity() != capacity) {
+				capacity = heap.capacity();
+				resizes++;
+			}
+		}
+
+		assertEquals(100000, heap.size());
+		assertTrue(resizes < 30);
+	}
+
+	@Test
+	public void testFixedGrowth() {
+		heap = new HeapImpl<Integer>(new ComparatorMaxHeap<Integer>(), 0, new FixedGrowthPolicy(10));
+		for (int i = 0; i < 25; i++) {
+			heap.insert(i);
+		}
+
+		assertEquals(30, heap.capacity());
+	}
+
+	@Test
+	public void testEnsureCapacityAndTrimToSize() {
+		heap.ensureCapacity(500);
+		assertTrue(heap.capacity() >= 500);
+
+		for (int i = 0; i < 100; i++) {
+			heap.insert(i);
+		}
+		for (int i = 0; i < 90; i++) {
+			heap.extractRootElement();
+		}
+		heap.trimToSize();
+
+		assertEquals(10, heap.capacity());
+		assertEquals(new Integer(9), heap.extractRootElement());
+
+		heap.insert(200);
+		assertEquals(new Integer(200), heap.rootElement());
+	}
+
+	@Test
+	public void testTrimEmptyHeap() {
+		heap.trimToSize();
+		assertEquals(0, heap.capacity());
+
+		heap.insert(1);
+		assertEquals(1, heap.size());
+		assertEquals(new Integer(1), heap.rootElement());
+	}
+
+	@Test
+	public void testComparatorWithArbitraryMagnitude() {
+		Comparator<Integer> comparator = new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return (o2 - o1) * 7;
+			}
+		};
+		heap = new HeapImpl<Integer>(comparator);
+		Integer[] values = randomArray(500, 1000, 1);
+		for (Integer value : values) {
+			heap.insert(value);
+		}
+		Arrays.sort(values);
+
+		for (Integer value : values) {
+			assertEquals(value, heap.extractRootElement());
+		}
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void testBuildHeapWithThreeElements() {
+		heap.buildHeap(new Integer[] { 1, 2, 3 });
+
+		assertEquals(new Integer(3), heap.extractRootElement());
+		assertEquals(new Integer(2), heap.extractRootElement());
+		assertEquals(new Integer(1), heap.extractRootElement());
+	}
+
+	@Test
+	public void testComparisonCount() {
+		CountingComparator<Integer> comparator = new CountingComparator<Integer>(new ComparatorMaxHeap<Integer>());
+		heap = new HeapImpl<Integer>(comparator);
+		int n = 1 << 12;
+		// sift-up com buraco: no maximo uma comparacao por nivel subido
+		for (Integer value : randomArray(n, n, 2)) {
+			comparator.reset();
+			heap.insert(value);
+			assertTrue(comparator.getCount() <= floorLog2(heap.size()));
+		}
+
+		// heapify com buraco: no maximo duas comparacoes por nivel descido
+		while (!heap.isEmpty()) {
+			comparator.reset();
+			heap.extractRootElement();
+			long bound = heap.isEmpty() ? 0 : 2L * floorLog2(heap.size());
+			assertTrue(comparator.getCount() <= bound);
+		}
+	}
+
+	@Test
+	public void testHeapsortMinComparator() {
+		heap = new HeapImpl<Integer>(new ComparatorMinHeap<Integer>());
+		Integer[] array = randomArray(1000, 100, 3);
+		Integer[] expected = array.clone();
+		Arrays.sort(expected);
+
+		assertArrayEquals(expected, heap.heapsort(array));
+		assertTrue(heap.getComparator() instanceof ComparatorMinHeap);
+	}
+
+	@Test
+	public void testParallelHeapsort() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (Comparator<Integer> comparator : Arrays.<Comparator<Integer>> asList(
+					new ComparatorMaxHeap<Integer>(), new ComparatorMinHeap<Integer>())) {
+				heap = new HeapImpl<Integer>(comparator);
+				Integer[] array = randomArray(100000, 50000, 4);
+				Integer[] expected = array.clone();
+				Arrays.sort(expected);
+
+				assertArrayEquals(expected, heap.parallelHeapsort(array, pool));
+				assertTrue(heap.isEmpty());
+				assertArrayEquals(new Integer[] { 1, 2, 3 }, heap.parallelHeapsort(new Integer[] { 3, 1, 2 }, pool));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelBuildHeap() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			Integer[] array = randomArray(100000, 1000, 5);
+			Integer[] expected = array.clone();
+			Arrays.sort(expected);
+			heap.insert(-1);
+			heap.parallelBuildHeap(array, pool);
+
+			assertEquals(array.length, heap.size());
+			for (int i = expected.length - 1; i >= 0; i--) {
+				assertEquals(expected[i], heap.extractRootElement());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testBottomUpExtraction() {
+		CountingComparator<Integer> comparator = new CountingComparator<Integer>(new ComparatorMinHeap<Integer>());
+		Integer[] array = randomArray(1 << 14, 1 << 20, 6);
+		Integer[] expected = array.clone();
+		Arrays.sort(expected);
+
+		heap = new HeapImpl<Integer>(comparator);
+		heap.buildHeap(array.clone());
+		comparator.reset();
+		for (Integer value : expected) {
+			assertEquals(value, heap.extractRootElement());
+		}
+		long standard = comparator.getCount();
+
+		heap.setBottomUpExtraction(true);
+		heap.buildHeap(array.clone());
+		comparator.reset();
+		for (Integer value : expected) {
+			assertEquals(value, heap.extractRootElement());
+		}
+		long bottomUp = comparator.getCount();
+
+		assertTrue(bottomUp * 4 < standard * 3);
+		assertArrayEquals(expected, heap.heapsort(array.clone()));
+	}
+
+	@Test
+	public void testInsertAll() {
+		CountingComparator<Integer> comparator = new CountingComparator<Integer>(new ComparatorMinHeap<Integer>());
+		heap = new HeapImpl<Integer>(comparator);
+		Integer[] batch = randomArray(1 << 14, 1 << 20, 7);
+		batch[10] = null;
+		heap.insertAll(batch);
+		assertTrue(comparator.getCount() <= 2L * batch.length);
+		assertEquals(batch.length - 1, heap.size());
+
+		heap.insertAll(Arrays.asList(5, null, 3));
+		assertEquals(batch.length + 1, heap.size());
+
+		batch[10] = 5;
+		Integer[] expected = Arrays.copyOf(batch, batch.length + 1);
+		expected[batch.length] = 3;
+		Arrays.sort(expected);
+		for (Integer value : expected) {
+			assertEquals(value, heap.extractRootElement());
+		}
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void testMerge() {
+		HeapImpl<Integer> other = new HeapImpl<Integer>(new ComparatorMinHeap<Integer>());
+		other.buildHeap(new Integer[] { 4, 8, 1 });
+		heap.buildHeap(new Integer[] { 7, 2, 9, 5 });
+
+		heap.merge(other);
+
+		assertEquals(3, other.size());
+		assertEquals(new Integer(1), other.rootElement());
+		assertArrayEquals(new Integer[] { 9, 8, 7, 5, 4, 2, 1 }, new Integer[] { heap.extractRootElement(),
+				heap.extractRootElement(), heap.extractRootElement(), heap.extractRootElement(),
+				heap.extractRootElement(), heap.extractRootElement(), heap.extractRootElement() });
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void testIterationAndCopyInto() {
+		Integer[] array = randomArray(50000, 1000, 8);
+		heap.buildHeap(array.clone());
+		heap.extractRootElement();
+
+		Comparable<Integer>[] contents = heap.toArray();
+		assertEquals(heap.size(), contents.length);
+		int position = 0;
+		for (Integer element : heap) {
+			assertEquals(contents[position++], element);
+		}
+		assertEquals(contents.length, position);
+
+		long sum = 0;
+		for (Comparable<Integer> element : contents) {
+			sum += (Integer) element;
+		}
+		assertEquals(sum, StreamSupport.stream(heap.spliterator(), true).mapToLong(Integer::longValue).sum());
+
+		Integer[] dest = new Integer[heap.size() + 1];
+		dest[heap.size()] = -1;
+		heap.copyInto(dest);
+		assertArrayEquals(contents, Arrays.copyOf(dest, heap.size()));
+		assertEquals(new Integer(-1), dest[heap.size()]);
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testIteratorFailFast() {
+		heap.buildHeap(new Integer[] { 3, 1, 2 });
+		Iterator<Integer> iterator = heap.iterator();
+		iterator.next();
+		heap.insert(4);
+		iterator.next();
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testForEachFailFast() {
+		heap.buildHeap(new Integer[] { 3, 1, 2 });
+		heap.forEach(element -> heap.extractRootElement());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCopyIntoSmallArray() {
+		heap.buildHeap(new Integer[] { 3, 1, 2 });
+		heap.copyInto(new Integer[2]);
+	}
+
+	private static int floorLog2(int value) {
+		return 31 - Integer.numberOfLeadingZeros(value);
+	}
+
+	private Integer[] randomArray(int size, int bound, long seed) {
+		Random random = new Random(seed);
+		Integer[] array = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			array[i] = random.nextInt(bound);
+		}
+		return array;
+	}
+}
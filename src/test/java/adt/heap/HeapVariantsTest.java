@@ -0,0 +1,194 @@
+package adt.heap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Verifica o contrato de Heap nas implementacoes alternativas e as operacoes
+ * especificas de cada uma.
+ */
+public class HeapVariantsTest {
+
+	private static final Comparator<Integer> MAX = new ComparatorMaxHeap<Integer>();
+	private static final Comparator<Integer> MIN = new ComparatorMinHeap<Integer>();
+
+	@Test
+	public void testIndexedHeapContract() {
+		verifyContract(new IndexedHeapImpl<Integer>(MAX), new IndexedHeapImpl<Integer>(MIN));
+	}
+
+	@Test
+	public void testDaryHeapContract() {
+		for (int arity : new int[] { 2, 3, 4, 8 }) {
+			verifyContract(new DaryHeapImpl<Integer>(MAX, arity), new DaryHeapImpl<Integer>(MIN, arity));
+		}
+	}
+
+	@Test
+	public void testBlockedHeapContract() {
+		for (int blockHeight : new int[] { 1, 2, 4 }) {
+			verifyContract(new BlockedHeapImpl<Integer>(MAX, blockHeight),
+					new BlockedHeapImpl<Integer>(MIN, blockHeight));
+		}
+	}
+
+	@Test
+	public void testBlockedHeapAcrossBlockLevels() {
+		BlockedHeapImpl<Integer> heap = new BlockedHeapImpl<Integer>(MIN, 3);
+		Random random = new Random(2);
+		Integer[] values = new Integer[50000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt();
+			heap.insert(values[i]);
+		}
+		Arrays.sort(values);
+
+		for (int i = 0; i < values.length / 2; i++) {
+			assertEquals(values[i], heap.extractRootElement());
+		}
+		for (int i = values.length / 2; i < values.length; i++) {
+			heap.insert(values[i]);
+		}
+		for (int i = values.length / 2; i < values.length; i++) {
+			assertEquals(values[i], heap.extractRootElement());
+			assertEquals(values[i], heap.extractRootElement());
+		}
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void testPairingHeapContract() {
+		verifyContract(new PairingHeapImpl<Integer>(MAX), new PairingHeapImpl<Integer>(MIN));
+	}
+
+	@Test
+	public void testPairingHeapMeld() {
+		PairingHeapImpl<Integer> heap = new PairingHeapImpl<Integer>(MIN);
+		Random random = new Random(6);
+		Integer[] values = new Integer[3000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(500);
+		}
+		for (int from = 0; from < values.length; from += 300) {
+			PairingHeapImpl<Integer> part = new PairingHeapImpl<Integer>(MIN);
+			part.buildHeap(Arrays.copyOfRange(values, from, from + 300));
+			heap.meld(part);
+			assertTrue(part.isEmpty());
+			assertNull(part.rootElement());
+		}
+		heap.meld(heap);
+		Arrays.sort(values);
+
+		assertEquals(values.length, heap.size());
+		for (Integer value : values) {
+			assertEquals(value, heap.extractRootElement());
+		}
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void testIndexedHeapChangePriority() {
+		IndexedHeapImpl<Integer> heap = new IndexedHeapImpl<Integer>(MIN);
+		HeapHandle<Integer> a = heap.insertWithHandle(50);
+		HeapHandle<Integer> b = heap.insertWithHandle(20);
+		HeapHandle<Integer> c = heap.insertWithHandle(30);
+
+		heap.changePriority(a, 10);
+		assertEquals(new Integer(10), heap.rootElement());
+
+		heap.changePriority(a, 40);
+		heap.changePriority(b, 35);
+		assertEquals(new Integer(30), heap.extractRootElement());
+		assertFalse(heap.contains(c));
+		assertFalse(c.isActive());
+		assertEquals(new Integer(35), heap.extractRootElement());
+		assertEquals(new Integer(40), heap.extractRootElement());
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void testIndexedHeapRemove() {
+		IndexedHeapImpl<Integer> heap = new IndexedHeapImpl<Integer>(MAX);
+		Random random = new Random(4);
+		@SuppressWarnings("unchecked")
+		HeapHandle<Integer>[] handles = new HeapHandle[200];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = heap.insertWithHandle(random.nextInt(1000));
+		}
+		int removed = 0;
+		for (int i = 0; i < handles.length; i += 3) {
+			Integer element = handles[i].getElement();
+			assertEquals(element, heap.remove(handles[i]));
+			assertNull(heap.remove(handles[i]));
+			removed++;
+		}
+
+		assertEquals(handles.length - removed, heap.size());
+		Integer previous = Integer.MAX_VALUE;
+		while (!heap.isEmpty()) {
+			Integer element = heap.extractRootElement();
+			assertTrue(element <= previous);
+			previous = element;
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIndexedHeapForeignHandle() {
+		IndexedHeapImpl<Integer> heap = new IndexedHeapImpl<Integer>(MAX);
+		HeapHandle<Integer> handle = new IndexedHeapImpl<Integer>(MAX).insertWithHandle(1);
+		heap.changePriority(handle, 2);
+	}
+
+	/**
+	 * Confere insert, extractRootElement, rootElement, buildHeap e heapsort de
+	 * uma max-heap e de uma min-heap contra Arrays.sort.
+	 */
+	public static void verifyContract(Heap<Integer> maxHeap, Heap<Integer> minHeap) {
+		Random random = new Random(1);
+		Integer[] values = new Integer[1000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(300);
+		}
+		Integer[] sorted = values.clone();
+		Arrays.sort(sorted);
+
+		for (Heap<Integer> heap : Arrays.asList(maxHeap, minHeap)) {
+			boolean max = heap == maxHeap;
+			assertNull(heap.rootElement());
+			assertNull(heap.extractRootElement());
+
+			for (Integer value : values) {
+				heap.insert(value);
+			}
+			heap.insert(null);
+			assertEquals(values.length, heap.size());
+			for (int i = 0; i < sorted.length; i++) {
+				Integer expected = max ? sorted[sorted.length - 1 - i] : sorted[i];
+				assertEquals(expected, heap.rootElement());
+				assertEquals(expected, heap.extractRootElement());
+			}
+			assertTrue(heap.isEmpty());
+
+			heap.insert(7);
+			heap.buildHeap(values.clone());
+			assertEquals(values.length, heap.size());
+			assertEquals(max ? sorted[sorted.length - 1] : sorted[0], heap.rootElement());
+			Comparable<Integer>[] contents = heap.toArray();
+			Arrays.sort(contents);
+			assertArrayEquals(sorted, contents);
+
+			assertArrayEquals(sorted, heap.heapsort(values.clone()));
+			assertArrayEquals(new Integer[0], heap.heapsort(new Integer[0]));
+			assertTrue(heap.isEmpty());
+		}
+	}
+}
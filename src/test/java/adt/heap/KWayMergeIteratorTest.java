@@ -0,0 +1,95 @@
+package adt.heap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class KWayMergeIteratorTest {
+
+	@Test
+	public void testMergeAscendingAndDescending() {
+		Random random = new Random(10);
+		List<List<Integer>> sources = new ArrayList<List<Integer>>();
+		List<Integer> all = new ArrayList<Integer>();
+		for (int i = 0; i < 20; i++) {
+			List<Integer> source = new ArrayList<Integer>();
+			int size = i % 5 == 0 ? 0 : random.nextInt(300);
+			for (int j = 0; j < size; j++) {
+				source.add(random.nextInt(1000));
+			}
+			Collections.sort(source);
+			sources.add(source);
+			all.addAll(source);
+		}
+		Collections.sort(all);
+
+		assertArrayEquals(all.toArray(), drain(new KWayMergeIterator<Integer>(new ComparatorMinHeap<Integer>(),
+				iterators(sources))).toArray());
+
+		for (List<Integer> source : sources) {
+			Collections.reverse(source);
+		}
+		Collections.reverse(all);
+		assertArrayEquals(all.toArray(), drain(new KWayMergeIterator<Integer>(new ComparatorMaxHeap<Integer>(),
+				iterators(sources))).toArray());
+	}
+
+	@Test
+	public void testMergeIsStable() {
+		String first = new String("a");
+		String second = new String("a");
+		KWayMergeIterator<String> merged = new KWayMergeIterator<String>(new ComparatorMinHeap<String>(),
+				Arrays.asList(Arrays.asList("b").iterator(), Arrays.asList(first).iterator(),
+						Arrays.asList(second, "c").iterator()));
+
+		assertSame(first, merged.next());
+		assertSame(second, merged.next());
+		assertArrayEquals(new String[] { "b", "c" }, drain(merged).toArray());
+	}
+
+	@Test
+	public void testLinkedListSources() {
+		List<Iterator<Integer>> sources = new LinkedList<Iterator<Integer>>();
+		sources.add(Arrays.asList(2, 5, 8).iterator());
+		sources.add(Arrays.asList(1, 9).iterator());
+		sources.add(Arrays.asList(3, 4, 6, 7).iterator());
+
+		assertArrayEquals(new Integer[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 },
+				drain(new KWayMergeIterator<Integer>(new ComparatorMinHeap<Integer>(), sources)).toArray());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testNoSources() {
+		KWayMergeIterator<Integer> merged = new KWayMergeIterator<Integer>(new ComparatorMinHeap<Integer>(),
+				new ArrayList<Iterator<Integer>>());
+		assertFalse(merged.hasNext());
+		merged.next();
+	}
+
+	private static List<Iterator<Integer>> iterators(List<List<Integer>> sources) {
+		List<Iterator<Integer>> resp = new ArrayList<Iterator<Integer>>();
+		for (List<Integer> source : sources) {
+			resp.add(source.iterator());
+		}
+		return resp;
+	}
+
+	private static <T> List<T> drain(Iterator<T> iterator) {
+		List<T> resp = new ArrayList<T>();
+		while (iterator.hasNext()) {
+			resp.add(iterator.next());
+		}
+		return resp;
+	}
+}
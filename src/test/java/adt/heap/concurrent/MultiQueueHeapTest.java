@@ -0,0 +1,103 @@
+package adt.heap.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import adt.heap.ComparatorMaxHeap;
+import adt.heap.ComparatorMinHeap;
+import adt.heap.HeapVariantsTest;
+
+public class MultiQueueHeapTest {
+
+	@Test
+	public void testSingleStripeContract() {
+		HeapVariantsTest.verifyContract(new MultiQueueHeap<Integer>(new ComparatorMaxHeap<Integer>(), 1),
+				new MultiQueueHeap<Integer>(new ComparatorMinHeap<Integer>(), 1));
+	}
+
+	@Test
+	public void testConcurrentProducersAndConsumers() throws Exception {
+		final MultiQueueHeap<Integer> heap = new MultiQueueHeap<Integer>(new ComparatorMinHeap<Integer>(), 8);
+		final int threads = 4;
+		final int perThread = 20000;
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2 * threads);
+		try {
+			List<Future<boolean[]>> consumers = new ArrayList<Future<boolean[]>>();
+			for (int t = 0; t < threads; t++) {
+				final int base = t * perThread;
+				executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < perThread; i++) {
+						heap.insert(base + i);
+					}
+					return null;
+				});
+				consumers.add(executor.submit(() -> {
+					start.await();
+					boolean[] seen = new boolean[threads * perThread];
+					for (int i = 0; i < perThread / 2; i++) {
+						Integer element = heap.extractRootElement();
+						if (element != null) {
+							seen[element] = true;
+						}
+					}
+					return seen;
+				}));
+			}
+			start.countDown();
+
+			boolean[] seen = new boolean[threads * perThread];
+			for (Future<boolean[]> consumer : consumers) {
+				boolean[] extracted = consumer.get(30, TimeUnit.SECONDS);
+				for (int i = 0; i < extracted.length; i++) {
+					if (extracted[i]) {
+						assertFalse(seen[i]);
+						seen[i] = true;
+					}
+				}
+			}
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+			Integer element;
+			while ((element = heap.extractRootElement()) != null) {
+				assertFalse(seen[element]);
+				seen[element] = true;
+			}
+			for (boolean found : seen) {
+				assertTrue(found);
+			}
+			assertEquals(0, heap.size());
+			assertNull(heap.rootElement());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testRelaxedOrderStaysClose() {
+		MultiQueueHeap<Integer> heap = new MultiQueueHeap<Integer>(new ComparatorMinHeap<Integer>(), 4);
+		int n = 10000;
+		for (int i = 0; i < n; i++) {
+			heap.insert(i);
+		}
+		long rankError = 0;
+		for (int i = 0; i < n; i++) {
+			rankError += Math.abs(heap.extractRootElement() - i);
+		}
+		assertTrue(rankError / n < 4 * heap.getStripes());
+	}
+}
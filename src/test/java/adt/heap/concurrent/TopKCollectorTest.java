@@ -0,0 +1,76 @@
+package adt.heap.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class TopKCollectorTest {
+
+	@Test
+	public void testSingleThread() {
+		TopKCollector<Integer> collector = new TopKCollector<Integer>(3);
+		assertTrue(collector.result().isEmpty());
+
+		collector.add(5);
+		collector.add(null);
+		collector.add(1);
+		assertNull(collector.getThreshold());
+		assertEquals(Arrays.asList(5, 1), collector.result());
+
+		for (int value : new int[] { 9, 3, 7, 2, 8 }) {
+			collector.add(value);
+		}
+		assertEquals(Arrays.asList(9, 8, 7), collector.result());
+		assertEquals(new Integer(7), collector.getThreshold());
+	}
+
+	@Test
+	public void testConcurrentIngestion() throws Exception {
+		final int k = 100;
+		final TopKCollector<Integer> collector = new TopKCollector<Integer>(k);
+		final int threads = 4;
+		final int perThread = 50000;
+		Random random = new Random(21);
+		final int[][] values = new int[threads][perThread];
+		List<Integer> all = new ArrayList<Integer>();
+		for (int[] chunk : values) {
+			for (int i = 0; i < perThread; i++) {
+				chunk[i] = random.nextInt(1000000);
+				all.add(chunk[i]);
+			}
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (final int[] chunk : values) {
+				futures.add(executor.submit(() -> {
+					for (int value : chunk) {
+						collector.add(value);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Collections.sort(all, Collections.reverseOrder());
+		assertEquals(all.subList(0, k), collector.result());
+		assertTrue(collector.getThreshold() <= all.get(k - 1));
+	}
+}
@@ -0,0 +1,118 @@
+package adt.heap.extended;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import adt.heap.ComparatorMaxHeap;
+import adt.heap.ComparatorMinHeap;
+
+public class FloorCeilTest {
+
+	private static final Integer[] ARRAY = { 22, 45, 38, 17, 40, 15, 26, 79, 53, 30 };
+
+	@Test
+	public void testHeapIsResetBetweenQueries() {
+		FloorCeilHeapImpl maxHeap = new FloorCeilHeapImpl(new ComparatorMaxHeap<Integer>());
+		FloorCeilHeapImpl minHeap = new FloorCeilHeapImpl(new ComparatorMinHeap<Integer>());
+
+		assertEquals(new Integer(79), maxHeap.floor(ARRAY, 80));
+		assertNull(maxHeap.ceil(new Integer[] { 1, 2 }, 50));
+		assertEquals(new Integer(15), minHeap.ceil(ARRAY, 14));
+		assertNull(minHeap.floor(new Integer[] { 90, 99 }, 50));
+	}
+
+	@Test
+	public void testIndex() {
+		FloorCeilIndex index = new FloorCeilIndex(ARRAY);
+
+		assertEquals(new Integer(79), index.floor(80));
+		assertEquals(new Integer(15), index.floor(15));
+		assertNull(index.floor(14));
+		assertEquals(new Integer(45), index.floor(46.5));
+		assertEquals(new Integer(53), index.ceil(50));
+		assertEquals(new Integer(79), index.ceil(79));
+		assertNull(index.ceil(80));
+		assertEquals(new Integer(53), index.ceil(46.5));
+		assertNull(index.floor(Double.NaN));
+		assertNull(index.ceil(Double.NaN));
+	}
+
+	@Test
+	public void testIndexIgnoresNull() {
+		FloorCeilIndex index = new FloorCeilIndex(new Integer[] { 3, null, 7 });
+
+		assertEquals(2, index.size());
+		assertEquals(new Integer(3), index.floor(5));
+		assertEquals(new Integer(7), index.ceil(5));
+	}
+
+	@Test
+	public void testIndexBatch() {
+		FloorCeilIndex index = new FloorCeilIndex(ARRAY);
+		double[] numeros = { 80, 15, 14, 46.5, 50, 79, 46.5, -1 };
+
+		assertArrayEquals(new Integer[] { 79, 15, null, 45, 45, 79, 45, null }, index.floor(numeros));
+		assertArrayEquals(new Integer[] { null, 15, 15, 53, 53, 79, 53, 15 }, index.ceil(numeros));
+	}
+
+	@Test
+	public void testIndexBatchMatchesSingleQueries() {
+		Random random = new Random(8);
+		int[] values = new int[2000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(10000) - 5000;
+		}
+		double[] numeros = new double[500];
+		for (int i = 0; i < numeros.length; i++) {
+			numeros[i] = random.nextDouble() * 12000 - 6000;
+		}
+		FloorCeilIndex index = new FloorCeilIndex(values);
+
+		Integer[] floors = index.floor(numeros);
+		Integer[] ceils = index.ceil(numeros);
+		for (int i = 0; i < numeros.length; i++) {
+			assertEquals(index.floor(numeros[i]), floors[i]);
+			assertEquals(index.ceil(numeros[i]), ceils[i]);
+		}
+	}
+
+	@Test
+	public void testScan() {
+		FloorCeilHeap floorCeil = new FloorCeilScanImpl(new ComparatorMaxHeap<Integer>());
+
+		assertEquals(new Integer(79), floorCeil.floor(ARRAY, 80));
+		assertEquals(new Integer(15), floorCeil.floor(ARRAY, 15));
+		assertNull(floorCeil.floor(ARRAY, 14));
+		assertEquals(new Integer(45), floorCeil.floor(ARRAY, 46.5));
+		assertEquals(new Integer(53), floorCeil.ceil(ARRAY, 50));
+		assertEquals(new Integer(79), floorCeil.ceil(ARRAY, 79));
+		assertNull(floorCeil.ceil(ARRAY, 80));
+		assertEquals(new Integer(53), floorCeil.ceil(ARRAY, 46.5));
+		assertArrayEquals(new Integer[] { 45, 53 }, floorCeil.floorAndCeil(ARRAY, 46.5));
+		assertArrayEquals(new Integer[] { 79, null }, floorCeil.floorAndCeil(new Integer[] { null, 79 }, 80));
+	}
+
+	@Test
+	public void testScanPrimitive() {
+		FloorCeilScanImpl floorCeil = new FloorCeilScanImpl(new ComparatorMinHeap<Integer>());
+		int[] array = { 22, 45, 38, 17, 40, 15, 26, 79, 53, 30 };
+
+		assertEquals(new Integer(45), floorCeil.floor(array, 46.5));
+		assertEquals(new Integer(53), floorCeil.ceil(array, 46.5));
+		assertNull(floorCeil.floor(array, 14));
+		assertArrayEquals(new Integer[] { 38, 38 }, floorCeil.floorAndCeil(array, 38));
+		assertArrayEquals(new Integer[] { null, 15 }, floorCeil.floorAndCeil(array, 14));
+	}
+
+	@Test
+	public void testDefaultFloorAndCeil() {
+		FloorCeilHeap floorCeil = new FloorCeilHeapImpl(new ComparatorMinHeap<Integer>());
+
+		assertArrayEquals(new Integer[] { 45, 53 }, floorCeil.floorAndCeil(ARRAY, 46.5));
+	}
+}
@@ -0,0 +1,91 @@
+package adt.heap.external;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ExternalHeapSortTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testSortWithSeveralMergePasses() throws IOException {
+		long[] values = new long[20000];
+		Random random = new Random(12);
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextLong();
+		}
+		File tempDirectory = folder.newFolder();
+		ExternalHeapSort<Long> sort = new ExternalHeapSort<Long>(new LongRecordCodec(), 500,
+				tempDirectory.toPath(), 256, 4);
+		Path output = folder.newFile().toPath();
+
+		sort.sort(write(values), output);
+
+		Arrays.sort(values);
+		assertArrayEquals(values, read(output));
+		assertEquals(0, tempDirectory.list().length);
+	}
+
+	@Test
+	public void testReplacementSelectionRunLength() throws IOException {
+		long[] values = new long[20000];
+		Random random = new Random(13);
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(1000);
+		}
+		ExternalHeapSort<Long> sort = new ExternalHeapSort<Long>(new LongRecordCodec(), 500,
+				folder.newFolder().toPath());
+
+		List<Path> runs = sort.createRuns(write(values));
+		assertTrue(runs.size() <= values.length / 500 * 3 / 4);
+
+		Arrays.sort(values);
+		List<Path> sortedRuns = sort.createRuns(write(values));
+		assertEquals(1, sortedRuns.size());
+		assertArrayEquals(values, read(sortedRuns.get(0)));
+	}
+
+	@Test
+	public void testEmptyInput() throws IOException {
+		ExternalHeapSort<Long> sort = new ExternalHeapSort<Long>(new LongRecordCodec(), 10,
+				folder.newFolder().toPath());
+		Path output = folder.newFile().toPath();
+
+		sort.sort(write(new long[0]), output);
+		assertEquals(0, Files.size(output));
+	}
+
+	private Path write(long[] values) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(values.length * Long.BYTES);
+		for (long value : values) {
+			buffer.putLong(value);
+		}
+		Path file = folder.newFile().toPath();
+		Files.write(file, buffer.array());
+		return file;
+	}
+
+	private long[] read(Path file) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+		long[] values = new long[buffer.remaining() / Long.BYTES];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = buffer.getLong();
+		}
+		return values;
+	}
+}
@@ -0,0 +1,79 @@
+package adt.heap.offheap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OffHeapHeapTest {
+
+	private static final int RECORD_SIZE = 16;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testDirectMinHeapAcrossSegments() throws IOException {
+		try (OffHeapHeap heap = new OffHeapHeap(RECORD_SIZE, KeyExtractor.longAt(0), false, 100)) {
+			verifyOrder(heap, false);
+		}
+	}
+
+	@Test
+	public void testMappedMaxHeap() throws IOException {
+		try (OffHeapHeap heap = new OffHeapHeap(folder.newFile().toPath(), RECORD_SIZE, KeyExtractor.longAt(0),
+				true, 4096)) {
+			verifyOrder(heap, true);
+		}
+	}
+
+	@Test
+	public void testEmptyHeap() throws IOException {
+		try (OffHeapHeap heap = new OffHeapHeap(RECORD_SIZE, KeyExtractor.longAt(8), true)) {
+			ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+			assertFalse(heap.rootElement(record));
+			assertFalse(heap.extractRootElement(record));
+			assertEquals(0, record.position());
+
+			record.putLong(0, 1L).putLong(8, 2L);
+			heap.insert(record);
+			assertEquals(2L, heap.rootKey());
+		}
+	}
+
+	/**
+	 * Insere registros (chave, chave * 2) e confere que saem ordenados pela
+	 * chave e com o payload intacto.
+	 */
+	private void verifyOrder(OffHeapHeap heap, boolean max) {
+		Random random = new Random(8);
+		long[] keys = new long[5000];
+		ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = random.nextInt(2000) - 1000;
+			record.clear();
+			record.putLong(keys[i]).putLong(keys[i] * 2).flip();
+			heap.insert(record);
+		}
+		Arrays.sort(keys);
+		assertEquals(keys.length, heap.size());
+
+		for (int i = 0; i < keys.length; i++) {
+			long expected = max ? keys[keys.length - 1 - i] : keys[i];
+			assertEquals(expected, heap.rootKey());
+			record.clear();
+			assertTrue(heap.extractRootElement(record));
+			assertEquals(expected, record.getLong(0));
+			assertEquals(expected * 2, record.getLong(8));
+		}
+		assertTrue(heap.isEmpty());
+	}
+}
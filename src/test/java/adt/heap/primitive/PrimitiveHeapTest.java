@@ -0,0 +1,170 @@
+package adt.heap.primitive;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PrimitiveHeapTest {
+
+	@Test
+	public void testIntMaxHeapInsertAndExtract() {
+		IntHeap heap = new IntHeap(true);
+		int[] values = { 22, 45, 38, 17, 40, 15, 26, 79, 53, 30 };
+		for (int value : values) {
+			heap.insert(value);
+		}
+
+		assertEquals(10, heap.size());
+		assertEquals(79, heap.rootElement());
+		assertEquals(79, heap.extractRootElement());
+		assertEquals(53, heap.extractRootElement());
+		assertEquals(45, heap.extractRootElement());
+		assertEquals(7, heap.size());
+	}
+
+	@Test
+	public void testIntMinHeapWithResize() {
+		IntHeap heap = new IntHeap(false, 1);
+		Random random = new Random(42);
+		int[] values = new int[1000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(500) - 250;
+			heap.insert(values[i]);
+		}
+		Arrays.sort(values);
+
+		for (int value : values) {
+			assertEquals(value, heap.extractRootElement());
+		}
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testIntExtractEmptyHeap() {
+		new IntHeap(true).extractRootElement();
+	}
+
+	@Test
+	public void testIntBuildHeap() {
+		IntHeap heap = new IntHeap(false);
+		heap.insert(30);
+		heap.buildHeap(new int[] { 82, 6, 99, 12, 34, 64, 58, 1 });
+
+		assertEquals(8, heap.size());
+		assertEquals(1, heap.rootElement());
+	}
+
+	@Test
+	public void testIntHeapsort() {
+		IntHeap heap = new IntHeap(false);
+		assertArrayEquals(new int[] { 5, 6, 12, 20, 34, 43, 49, 92 },
+				heap.heapsort(new int[] { 34, 92, 5, 12, 49, 20, 43, 6 }));
+		assertArrayEquals(new int[0], heap.heapsort(new int[0]));
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void testLongHeap() {
+		LongHeap heap = new LongHeap(false);
+		heap.insert(Long.MAX_VALUE);
+		heap.insert(-3L);
+		heap.insert(1L << 40);
+
+		assertEquals(-3L, heap.extractRootElement());
+		assertEquals(1L << 40, heap.extractRootElement());
+		assertEquals(Long.MAX_VALUE, heap.extractRootElement());
+		assertArrayEquals(new long[] { -1L, 2L, 9L },
+				heap.heapsort(new long[] { 9L, -1L, 2L }));
+	}
+
+	@Test
+	public void testDoubleHeap() {
+		DoubleHeap heap = new DoubleHeap(true);
+		heap.insert(2.5);
+		heap.insert(Double.NaN);
+		heap.insert(-1.0);
+
+		assertFalse(heap.isEmpty());
+		assertTrue(Double.isNaN(heap.extractRootElement()));
+		assertEquals(2.5, heap.extractRootElement(), 0.0);
+		assertArrayEquals(new double[] { -0.5, 0.0, 3.25 },
+				heap.heapsort(new double[] { 3.25, 0.0, -0.5 }), 0.0);
+	}
+
+	@Test
+	public void testRadixHeapMonotoneWorkload() {
+		RadixHeap heap = new RadixHeap();
+		LongHeap reference = new LongHeap(false);
+		Random random = new Random(24);
+		for (int i = 0; i < 100; i++) {
+			long key = random.nextInt(1000);
+			heap.insert(key);
+			reference.insert(key);
+		}
+		while (!reference.isEmpty()) {
+			assertEquals(reference.rootElement(), heap.rootElement());
+			long key = reference.extractRootElement();
+			assertEquals(key, heap.extractRootElement());
+			assertEquals(key, heap.getLast());
+			if (random.nextInt(3) > 0 && key < (1L << 40)) {
+				long next = key + random.nextInt(1 << random.nextInt(30));
+				heap.insert(next);
+				reference.insert(next);
+			}
+		}
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void testRadixHeapPeekThenInsertSmaller() {
+		RadixHeap heap = new RadixHeap();
+		heap.insert(10L);
+		heap.insert(20L);
+		heap.insert(30L);
+		assertEquals(10L, heap.extractRootElement());
+		assertEquals(20L, heap.rootElement());
+		assertEquals(20L, heap.rootElement());
+		heap.insert(10L);
+		assertEquals(10L, heap.rootElement());
+		assertEquals(10L, heap.extractRootElement());
+		assertEquals(20L, heap.rootElement());
+		heap.insert(15L);
+		assertEquals(15L, heap.rootElement());
+		assertEquals(15L, heap.extractRootElement());
+		assertEquals(20L, heap.extractRootElement());
+		heap.clear();
+		heap.insert(5L);
+		assertEquals(5L, heap.rootElement());
+		assertEquals(5L, heap.extractRootElement());
+		assertEquals(0, heap.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRadixHeapRejectsKeyBelowLast() {
+		RadixHeap heap = new RadixHeap();
+		heap.insert(10L);
+		heap.insert(20L);
+		assertEquals(10L, heap.extractRootElement());
+		heap.insert(9L);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRadixHeapRejectsNegativeKey() {
+		new RadixHeap().insert(-1L);
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testRadixHeapExtractEmptyHeap() {
+		RadixHeap heap = new RadixHeap();
+		heap.insert(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, heap.extractRootElement());
+		heap.extractRootElement();
+	}
+}
@@ -0,0 +1,187 @@
+package orderStatistic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class OrderStatisticsTest {
+
+	private static final Integer[] ARRAY = { 22, 45, 38, 17, 40, 15, 26, 79, 53, 30 };
+
+	@Test
+	public void testQuickSelectSmallArray() {
+		OrderStatistics<Integer> orderStatistics = new OrderStatisticsQuickSelectImpl<Integer>();
+
+		assertEquals(new Integer(15), orderStatistics.getOrderStatistics(ARRAY, 1));
+		assertEquals(new Integer(30), orderStatistics.getOrderStatistics(ARRAY, 5));
+		assertEquals(new Integer(79), orderStatistics.getOrderStatistics(ARRAY, 10));
+		assertNull(orderStatistics.getOrderStatistics(ARRAY, 0));
+		assertNull(orderStatistics.getOrderStatistics(ARRAY, 11));
+	}
+
+	@Test
+	public void testQuickSelectDoesNotModifyArray() {
+		Integer[] array = ARRAY.clone();
+		new OrderStatisticsQuickSelectImpl<Integer>().getOrderStatistics(array, 4);
+
+		assertArrayEquals(ARRAY, array);
+	}
+
+	@Test
+	public void testQuickSelectDistributions() {
+		int size = 5000;
+		Random random = new Random(7);
+		Integer[] randomValues = new Integer[size];
+		Integer[] sorted = new Integer[size];
+		Integer[] reversed = new Integer[size];
+		Integer[] duplicates = new Integer[size];
+		Integer[] organPipe = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			randomValues[i] = random.nextInt();
+			sorted[i] = i;
+			reversed[i] = size - i;
+			duplicates[i] = random.nextInt(3);
+			organPipe[i] = Math.min(i, size - i);
+		}
+
+		for (Integer[] array : new Integer[][] { randomValues, sorted, reversed, duplicates, organPipe }) {
+			Integer[] expected = array.clone();
+			Arrays.sort(expected);
+			OrderStatisticsQuickSelectImpl<Integer> orderStatistics = new OrderStatisticsQuickSelectImpl<Integer>();
+			Integer[] scratch = new Integer[size];
+			for (int k = 1; k <= size; k += 499) {
+				assertEquals(expected[k - 1], orderStatistics.getOrderStatistics(array, k));
+				assertEquals(expected[k - 1], orderStatistics.getOrderStatistics(array, k, scratch));
+			}
+		}
+	}
+
+	@Test
+	public void testQuickSelectInPlace() {
+		Integer[] array = ARRAY.clone();
+		OrderStatistics<Integer> orderStatistics = new OrderStatisticsQuickSelectImpl<Integer>(true);
+
+		assertEquals(new Integer(40), orderStatistics.getOrderStatistics(array, 7));
+		assertEquals(new Integer(40), array[6]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testQuickSelectSmallScratch() {
+		new OrderStatisticsQuickSelectImpl<Integer>().getOrderStatistics(ARRAY, 3, new Integer[5]);
+	}
+
+	@Test
+	public void testBoundedHeap() {
+		OrderStatisticsBoundedHeapImpl<Integer> orderStatistics = new OrderStatisticsBoundedHeapImpl<Integer>();
+
+		assertEquals(new Integer(15), orderStatistics.getOrderStatistics(ARRAY, 1));
+		assertEquals(new Integer(30), orderStatistics.getOrderStatistics(ARRAY, 5));
+		assertEquals(new Integer(79), orderStatistics.getOrderStatistics(ARRAY, 10));
+		assertNull(orderStatistics.getOrderStatistics(ARRAY, 0));
+		assertNull(orderStatistics.getOrderStatistics(ARRAY, 11));
+
+		assertEquals(new Integer(79), orderStatistics.getReverseOrderStatistics(ARRAY, 1));
+		assertEquals(new Integer(45), orderStatistics.getReverseOrderStatistics(ARRAY, 3));
+		assertEquals(new Integer(15), orderStatistics.getReverseOrderStatistics(ARRAY, 10));
+	}
+
+	@Test
+	public void testBoundedHeapIterator() {
+		Random random = new Random(3);
+		List<Integer> values = new ArrayList<Integer>();
+		for (int i = 0; i < 10000; i++) {
+			values.add(random.nextInt(1000));
+		}
+		values.add(null);
+		OrderStatisticsBoundedHeapImpl<Integer> orderStatistics = new OrderStatisticsBoundedHeapImpl<Integer>();
+		Integer[] expected = values.subList(0, 10000).toArray(new Integer[0]);
+		Arrays.sort(expected);
+
+		assertEquals(expected[9], orderStatistics.getOrderStatistics(values.iterator(), 10));
+		assertEquals(expected[10000 - 25], orderStatistics.getReverseOrderStatistics(values.stream().iterator(), 25));
+		assertNull(orderStatistics.getOrderStatistics(values.iterator(), 10001));
+	}
+
+	@Test
+	public void testMultiSelect() {
+		OrderStatisticsQuickSelectImpl<Integer> orderStatistics = new OrderStatisticsQuickSelectImpl<Integer>();
+
+		assertArrayEquals(new Integer[] { 79, 15, null, 30, 30, null },
+				orderStatistics.getOrderStatistics(ARRAY, new int[] { 10, 1, 0, 5, 5, 11 }));
+	}
+
+	@Test
+	public void testMultiSelectPercentiles() {
+		int size = 100000;
+		Random random = new Random(11);
+		Integer[] array = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			array[i] = random.nextInt(size / 10);
+		}
+		Integer[] expected = array.clone();
+		Arrays.sort(expected);
+		int[] ks = { size / 2, size * 9 / 10, size * 95 / 100, size * 99 / 100, size * 999 / 1000, 1, size };
+
+		Integer[] result = new OrderStatisticsQuickSelectImpl<Integer>().getOrderStatistics(array, ks,
+				new Integer[size]);
+		for (int i = 0; i < ks.length; i++) {
+			assertEquals(expected[ks[i] - 1], result[i]);
+		}
+	}
+
+	@Test
+	public void testRunningMedian() {
+		RunningPercentile<Integer> median = new RunningPercentile<Integer>();
+		assertNull(median.getPercentile());
+
+		int[] values = { 5, 15, 1, 3, 2, 8, 7, 9, 10, 6, 11, 4 };
+		int[] expected = { 5, 5, 5, 3, 3, 3, 5, 5, 7, 6, 7, 6 };
+		for (int i = 0; i < values.length; i++) {
+			median.add(values[i]);
+			assertEquals(new Integer(expected[i]), median.getPercentile());
+		}
+	}
+
+	@Test
+	public void testRunningPercentile() {
+		Random random = new Random(5);
+		RunningPercentile<Integer> p90 = new RunningPercentile<Integer>(0.9);
+		List<Integer> values = new ArrayList<Integer>();
+		for (int i = 1; i <= 2000; i++) {
+			Integer value = random.nextInt(500);
+			values.add(value);
+			p90.add(value);
+			if (i % 100 == 0) {
+				Integer[] sorted = values.toArray(new Integer[0]);
+				Arrays.sort(sorted);
+				assertEquals(sorted[i * 9 / 10 - 1], p90.getPercentile());
+			}
+		}
+	}
+
+	@Test
+	public void testSlidingWindowPercentile() {
+		int windowSize = 50;
+		Random random = new Random(9);
+		SlidingWindowPercentile<Integer> median = new SlidingWindowPercentile<Integer>(windowSize, 0.5);
+		List<Integer> values = new ArrayList<Integer>();
+		for (int i = 0; i < 5000; i++) {
+			Integer value = i < 2500 ? i : random.nextInt(20);
+			values.add(value);
+			median.add(value);
+
+			List<Integer> window = values.subList(Math.max(0, values.size() - windowSize), values.size());
+			Integer[] sorted = window.toArray(new Integer[0]);
+			Arrays.sort(sorted);
+			assertEquals(sorted[(sorted.length + 1) / 2 - 1], median.getPercentile());
+		}
+		assertEquals(windowSize, median.size());
+	}
+}